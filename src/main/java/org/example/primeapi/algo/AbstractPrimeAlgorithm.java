@@ -1,17 +1,17 @@
 package org.example.primeapi.algo;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.model.LongPrimeArray;
+import org.example.primeapi.model.PrimeArray;
 import org.example.primeapi.util.ThreadPoolManager;
-import org.springframework.beans.factory.annotation.Value;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.function.BiFunction;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Abstract base class for prime generation algorithms with support for parallel execution.
@@ -25,19 +25,26 @@ import java.util.stream.Stream;
  * <ul>
  *   <li>Validates input bounds and thread constraints via {@code shouldSkip}</li>
  *   <li>Distributes work across threads using {@code runThreaded}</li>
- *   <li>Aggregates results deterministically with deduplication and sorting</li>
+ *   <li>Aggregates results deterministically by concatenating chunk outputs in range order</li>
  * </ul>
  *
  * <p>Parallelization:
  * <ul>
  *   <li>Input range is divided into evenly sized chunks</li>
- *   <li>Each chunk is processed concurrently via a {@code BiFunction}</li>
- *   <li>Thread pool is managed by {@code ThreadPoolManager}</li>
+ *   <li>Each chunk is processed concurrently via a {@link ChunkProcessor}</li>
+ *   <li>Chunks run on the shared compute pool from {@code ThreadPoolManager}; {@code threads} sets
+ *       how many chunks the range is split into, the pool bounds how many run at once</li>
+ *   <li>Algorithms whose cost per number grows with n override {@link #executionStrategy()} to use
+ *       {@link ExecutionStrategy#FORK_JOIN}: the range is split into leaves of at most
+ *       {@link #forkJoinLeafSize()} numbers and idle workers steal pending leaves. {@code threads} is then
+ *       only a parallelism hint that sets the minimum number of leaves</li>
+ *   <li>Requests below the heavy limit run inline on the calling thread (see {@code ComputeGate}), so small
+ *       queries never wait behind chunks that large ones have queued</li>
  * </ul>
  *
  * <p>Usage:
  * <pre>{@code
- * List<Integer> primes = runThreaded("Sieve", 10_000, 100_000, 8, (start, end) -> {
+ * PrimeArray primes = runThreaded("Sieve", 10_000, 100_000, 8, (start, end) -> {
  *     return sieveSegment(start, end, basePrimes);
  * });
  * }</pre>
@@ -54,36 +61,185 @@ import java.util.stream.Stream;
 @Slf4j
 public abstract class AbstractPrimeAlgorithm implements PrimeAlgorithm {
 
+    /** Default fork/join leaf: 64K numbers, whose primes fit comfortably in L2. */
+    protected static final int DEFAULT_LEAF_SIZE = 1 << 16;
 
+    /**
+     * Strategy used by {@link #runThreaded}. Defaults to {@link ExecutionStrategy#CHUNKED}.
+     */
+    protected ExecutionStrategy executionStrategy() {
+        return ExecutionStrategy.CHUNKED;
+    }
+
+    /**
+     * Largest range a single fork/join leaf processes.
+     */
+    protected int forkJoinLeafSize() {
+        return DEFAULT_LEAF_SIZE;
+    }
+
+    protected PrimeArray runThreaded(String label, int lowerLimit, int upperLimit, int threads,
+                                     ChunkProcessor chunkProcessor) {
+        if (runsInline(threads)) return chunkProcessor.process(lowerLimit, upperLimit);
+        if (executionStrategy() == ExecutionStrategy.FORK_JOIN) {
+            return runForkJoin(label, lowerLimit, upperLimit, threads, chunkProcessor);
+        }
+        return runChunked(label, lowerLimit, upperLimit, threads, chunkProcessor);
+    }
+
+    /**
+     * Count-only counterpart of {@link #runThreaded}: splits the range into {@code threads} chunks on the
+     * shared compute pool and sums the per-chunk counts.
+     */
+    protected int countThreaded(String label, int lowerLimit, int upperLimit, int threads,
+                                ChunkCounter chunkCounter) {
+        if (runsInline(threads)) return chunkCounter.count(lowerLimit, upperLimit);
+
+        int total = 0;
+        for (int chunkCount : submitChunks(label, lowerLimit, upperLimit, threads,
+                (start, end) -> chunkCounter.count((int) start, (int) end))) {
+            total += chunkCount;
+        }
+        return total;
+    }
+
+    /**
+     * 64-bit counterpart of {@link #runThreaded} for ranges beyond {@code Integer.MAX_VALUE}. Always splits
+     * into {@code threads} equal chunks; the segmented sieves that use it cost the same per number anywhere in
+     * the range, so there is nothing for work stealing to balance.
+     */
+    protected LongPrimeArray runThreadedLong(String label, long lowerLimit, long upperLimit, int threads,
+                                             LongChunkProcessor chunkProcessor) {
+        if (runsInline(threads)) return chunkProcessor.process(lowerLimit, upperLimit);
+        return LongPrimeArray.concat(submitChunks(label, lowerLimit, upperLimit, threads, chunkProcessor::process));
+    }
+
+    /**
+     * 64-bit counterpart of {@link #countThreaded}.
+     */
+    protected long countThreadedLong(String label, long lowerLimit, long upperLimit, int threads,
+                                     LongChunkCounter chunkCounter) {
+        if (runsInline(threads)) return chunkCounter.count(lowerLimit, upperLimit);
+
+        long total = 0;
+        for (long chunkCount : submitChunks(label, lowerLimit, upperLimit, threads, chunkCounter::count)) {
+            total += chunkCount;
+        }
+        return total;
+    }
+
+    /**
+     * Single-threaded requests, and cheap requests running under {@link ThreadPoolManager#runInline}, process the
+     * whole range on the calling thread rather than queueing behind other requests' chunks.
+     */
+    private static boolean runsInline(int threads) {
+        return threads <= 1 || ThreadPoolManager.isInline();
+    }
 
-    protected List<Integer> runThreaded(String label, int lowerLimit, int upperLimit, int threads,
-                                        BiFunction<Integer, Integer, List<Integer>> chunkProcessor) {
-        ExecutorService executor = ThreadPoolManager.createFixedPool(threads, label);
-        List<Future<List<Integer>>> futures = new ArrayList<>();
+    private PrimeArray runChunked(String label, int lowerLimit, int upperLimit, int threads,
+                                  ChunkProcessor chunkProcessor) {
+        // Chunks are disjoint and ascending, so their outputs only need to be joined in order
+        return PrimeArray.concat(submitChunks(label, lowerLimit, upperLimit, threads,
+                (start, end) -> chunkProcessor.process((int) start, (int) end)));
+    }
+
+    /**
+     * Runs {@code threads} equal chunks on the compute pool and returns their results in range order.
+     * Chunk bounds are computed in {@code long}, so a range ending at {@code Integer.MAX_VALUE} cannot wrap.
+     */
+    private <T> List<T> submitChunks(String label, long lowerLimit, long upperLimit, int threads,
+                                     RangeTask<T> chunkTask) {
+        ExecutorService executor = ThreadPoolManager.computePool();
+        List<Future<T>> futures = new ArrayList<>();
 
-        int totalRange = upperLimit - lowerLimit + 1;
-        int chunkSize = (int) Math.ceil((double) totalRange / threads);
+        long totalRange = upperLimit - lowerLimit + 1;
+        long chunkSize = (totalRange + threads - 1) / threads;
 
         for (int i = 0; i < threads; i++) {
-            int start = lowerLimit + i * chunkSize;
-            int end = Math.min(lowerLimit + (i + 1) * chunkSize - 1, upperLimit);
-            futures.add(executor.submit(() -> chunkProcessor.apply(start, end)));
+            long start = lowerLimit + i * chunkSize;
+            // Ranges smaller than the thread count run out of numbers before chunks; never submit an empty one
+            if (start > upperLimit) break;
+            long end = Math.min(start + chunkSize - 1, upperLimit);
+            futures.add(executor.submit(() -> chunkTask.apply(start, end)));
+        }
+        log.debug("{}: submitted {} chunks to compute pool", label, futures.size());
+
+        List<T> chunkResults = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            try {
+                chunkResults.add(future.get());
+            } catch (InterruptedException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(label + ": interrupted while waiting for chunks", e);
+            } catch (ExecutionException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException(label + ": chunk failed", e.getCause());
+            }
+        }
+        return chunkResults;
+    }
+
+    @FunctionalInterface
+    private interface RangeTask<T> {
+        T apply(long start, long end);
+    }
+
+    private PrimeArray runForkJoin(String label, int lowerLimit, int upperLimit, int threads,
+                                   ChunkProcessor chunkProcessor) {
+        if (upperLimit <= lowerLimit) return chunkProcessor.process(lowerLimit, upperLimit);
+
+        long totalRange = (long) upperLimit - lowerLimit + 1;
+        int leafSize = (int) Math.max(1, Math.min(forkJoinLeafSize(), (totalRange + threads - 1) / threads));
+        int leaves = (int) ((totalRange + leafSize - 1) / leafSize);
+
+        PrimeArray[] leafResults = new PrimeArray[leaves];
+        ThreadPoolManager.forkJoinPool()
+                .invoke(new LeafRangeTask(lowerLimit, upperLimit, leafSize, 0, leaves, leafResults, chunkProcessor));
+        log.debug("{}: processed {} fork/join leaves of {} numbers", label, leaves, leafSize);
+
+        // Leaves are disjoint and ascending, so their outputs only need to be joined in order
+        return PrimeArray.concat(Arrays.asList(leafResults));
+    }
+
+    /**
+     * Processes leaves {@code [firstLeaf, endLeaf)} by halving until one leaf remains. Each leaf writes into its
+     * own slot of {@code results}, so the final merge is a single ordered concatenation.
+     */
+    private static final class LeafRangeTask extends RecursiveAction {
+
+        private final int lowerLimit;
+        private final int upperLimit;
+        private final int leafSize;
+        private final int firstLeaf;
+        private final int endLeaf;
+        private final PrimeArray[] results;
+        private final ChunkProcessor chunkProcessor;
+
+        private LeafRangeTask(int lowerLimit, int upperLimit, int leafSize, int firstLeaf, int endLeaf,
+                              PrimeArray[] results, ChunkProcessor chunkProcessor) {
+            this.lowerLimit = lowerLimit;
+            this.upperLimit = upperLimit;
+            this.leafSize = leafSize;
+            this.firstLeaf = firstLeaf;
+            this.endLeaf = endLeaf;
+            this.results = results;
+            this.chunkProcessor = chunkProcessor;
         }
 
-        List<Integer> allPrimes = futures.stream()
-                .flatMap(future -> {
-                    try {
-                        return future.get().stream();
-                    } catch (InterruptedException | ExecutionException e) {
-                        Thread.currentThread().interrupt();
-                        return Stream.empty();
-                    }
-                })
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
-
-        executor.shutdown();
-        return allPrimes;
+        @Override
+        protected void compute() {
+            if (endLeaf - firstLeaf == 1) {
+                long start = lowerLimit + (long) firstLeaf * leafSize;
+                long end = Math.min(start + leafSize - 1, upperLimit);
+                results[firstLeaf] = chunkProcessor.process((int) start, (int) end);
+                return;
+            }
+
+            int middleLeaf = (firstLeaf + endLeaf) >>> 1;
+            invokeAll(
+                    new LeafRangeTask(lowerLimit, upperLimit, leafSize, firstLeaf, middleLeaf, results, chunkProcessor),
+                    new LeafRangeTask(lowerLimit, upperLimit, leafSize, middleLeaf, endLeaf, results, chunkProcessor));
+        }
     }
-}
\ No newline at end of file
+}
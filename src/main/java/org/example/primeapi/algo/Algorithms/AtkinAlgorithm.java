@@ -2,12 +2,12 @@ package org.example.primeapi.algo.Algorithms;
 
 import org.example.primeapi.algo.AbstractPrimeAlgorithm;
 import org.example.primeapi.algo.BasePrimeService;
+import org.example.primeapi.model.PrimeArray;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -22,6 +22,9 @@ import java.util.List;
  * <ul>
  *   <li>First, it computes base primes up to √limit using the core Atkin sieve.</li>
  *   <li>Then, it applies the segmented sieve across the remaining range using those base primes.</li>
+ *   <li>Each chunk is walked in cache-sized blocks of odd candidates, packed 64 per {@code long}.</li>
+ *   <li>For every block, only the (x, y) lattice points whose form lands inside the block are enumerated,
+ *       in the style of Bernstein's primegen, so total work is O(n) however many chunks are used.</li>
  *   <li>Parallel execution is supported via chunked threading for scalability.</li>
  * </ul>
  *
@@ -52,7 +55,7 @@ import java.util.List;
  *
  * <p>Usage:
  * <pre>{@code
- * List<Integer> primes = atkinAlgorithm.generate(1_000_000, 4);
+ * PrimeArray primes = atkinAlgorithm.generate(1_000_000, 4);
  * }</pre>
  *
  * @author Dan
@@ -70,101 +73,64 @@ public class AtkinAlgorithm extends AbstractPrimeAlgorithm {
     }
 
     @Override
-    public List<Integer> generate(int upperLimit, int threads) {
+    public PrimeArray generate(int upperLimit, int threads) {
 
         int sqrtLimit = (int) Math.sqrt(upperLimit);
-        List<Integer> basePrimes = basePrimeService.generateAtkinBasePrimes(2, sqrtLimit);
-
-        if (threads <= 1 || upperLimit <= sqrtLimit + 1) {
-            List<Integer> segmented = findSegmentedChunk(sqrtLimit + 1, upperLimit, basePrimes);
-            List<Integer> allPrimes = new ArrayList<>(basePrimes);
-            allPrimes.addAll(segmented);
-            Collections.sort(allPrimes);
-            return allPrimes;
-        }
-
-        List<Integer> segmentedPrimes = runThreaded("Segmented Atkin", sqrtLimit + 1, upperLimit, threads,
-                (start, end) -> findSegmentedChunk(start, end, basePrimes));
+        PrimeArray basePrimes = basePrimeService.generateAtkinBasePrimes(2, sqrtLimit);
+        int[] sievingPrimes = basePrimes.toIntArray();
 
-        List<Integer> allPrimes = new ArrayList<>(basePrimes);
-        allPrimes.addAll(segmentedPrimes);
-        Collections.sort(allPrimes);
-        return allPrimes;
-    }
+        PrimeArray segmentedPrimes = (threads <= 1 || upperLimit <= sqrtLimit + 1)
+                ? findSegmentedChunk(sqrtLimit + 1, upperLimit, sievingPrimes)
+                : runThreaded("Segmented Atkin", sqrtLimit + 1, upperLimit, threads,
+                (start, end) -> findSegmentedChunk(start, end, sievingPrimes));
 
-
-    public List<Integer> generateBasePrimesForTesting(int start, int end) {
-        return basePrimeService.generateAtkinBasePrimes(start, end);
+        return PrimeArray.concat(List.of(basePrimes, segmentedPrimes));
     }
 
 
-    private List<Integer> findSegmentedChunk(int lowerBound, int upperBound, List<Integer> basePrimes) {
-        int segmentSize = upperBound - lowerBound + 1;
-        boolean[] isPrimeCandidate = new boolean[segmentSize];
-        int sqrtUpperBound = (int) Math.sqrt(upperBound);
-
-        applyAtkinFiltersToSegment(isPrimeCandidate, lowerBound, upperBound, sqrtUpperBound);
-        eliminateMultiplesOfPrimeSquaresInSegment(isPrimeCandidate, lowerBound, upperBound, basePrimes);
-
-        return collectConfirmedPrimesFromSegment(isPrimeCandidate, lowerBound, upperBound);
+    @Override
+    public PrimeArray generateRange(int from, int to, int threads) {
+        int lowerBound = Math.max(2, from);
+        if (to < lowerBound) return PrimeArray.empty();
+
+        int[] sievingPrimes = basePrimeService.generateAtkinBasePrimes(2, (int) Math.sqrt(to)).toIntArray();
+        return (threads <= 1 || to <= lowerBound)
+                ? findSegmentedChunk(lowerBound, to, sievingPrimes)
+                : runThreaded("Segmented Atkin Range", lowerBound, to, threads,
+                (start, end) -> findSegmentedChunk(start, end, sievingPrimes));
     }
 
-
-
-    /**
-     * Applies Atkin's modular filters to identify prime candidates within the segment.
-     */
-    private void applyAtkinFiltersToSegment(boolean[] isPrimeCandidate, int lowerBound, int upperBound, int sqrtLimit) {
-        for (int x = 1; x <= sqrtLimit; x++) {
-            for (int y = 1; y <= sqrtLimit; y++) {
-
-                int candidate1 = 4 * x * x + y * y;
-                if (candidate1 >= lowerBound && candidate1 <= upperBound && (candidate1 % 12 == 1 || candidate1 % 12 == 5)) {
-                    isPrimeCandidate[candidate1 - lowerBound] ^= true;
-                }
-
-                int candidate2 = 3 * x * x + y * y;
-                if (candidate2 >= lowerBound && candidate2 <= upperBound && candidate2 % 12 == 7) {
-                    isPrimeCandidate[candidate2 - lowerBound] ^= true;
-                }
-
-                if (x > y) {
-                    int candidate3 = 3 * x * x - y * y;
-                    if (candidate3 >= lowerBound && candidate3 <= upperBound && candidate3 % 12 == 11) {
-                        isPrimeCandidate[candidate3 - lowerBound] ^= true;
-                    }
-                }
-            }
-        }
+    public PrimeArray generateBasePrimesForTesting(int start, int end) {
+        return basePrimeService.generateAtkinBasePrimes(start, end);
     }
 
-    /**
-     * Removes false positives by marking multiples of prime squares as non-prime within the segment.
-     */
-    private void eliminateMultiplesOfPrimeSquaresInSegment(boolean[] isPrimeCandidate, int lowerBound, int upperBound, List<Integer> basePrimes) {
-        for (int basePrime : basePrimes) {
-            int primeSquared = basePrime * basePrime;
-            int firstMultipleInSegment = ((lowerBound + primeSquared - 1) / primeSquared) * primeSquared;
-
-            for (int multiple = firstMultipleInSegment; multiple <= upperBound; multiple += primeSquared) {
-                isPrimeCandidate[multiple - lowerBound] = false;
-            }
-        }
-    }
 
     /**
-     * Collects confirmed primes from the segment after filtering.
+     * Runs the segmented Atkin sieve over [lowerBound, upperBound], one cache-sized block at a time.
+     * Each block only visits the lattice points whose quadratic form falls inside it.
      */
-    private List<Integer> collectConfirmedPrimesFromSegment(boolean[] isPrimeCandidate, int lowerBound, int upperBound) {
-        List<Integer> confirmedPrimes = new ArrayList<>();
-
-        for (int offset = 0; offset < isPrimeCandidate.length; offset++) {
-            int candidate = lowerBound + offset;
-            if (candidate >= 2 && isPrimeCandidate[offset]) {
-                confirmedPrimes.add(candidate);
-            }
+    private PrimeArray findSegmentedChunk(int lowerBound, int upperBound, int[] basePrimes) {
+        PrimeArray.Builder confirmedPrimes = PrimeArray.builder();
+        if (lowerBound <= 2 && upperBound >= 2) confirmedPrimes.add(2);
+        if (lowerBound <= 3 && upperBound >= 3) confirmedPrimes.add(3);
+
+        long[] bits = new long[BitSieveUtil.BLOCK_WORDS];
+        long firstOdd = Math.max(5, lowerBound | 1);
+
+        for (long blockStart = firstOdd; blockStart <= upperBound; blockStart += 2L * BitSieveUtil.BLOCK_BITS) {
+            long blockEnd = Math.min(upperBound, blockStart + 2L * BitSieveUtil.BLOCK_BITS - 2);
+            int candidates = (int) ((blockEnd - blockStart) / 2 + 1);
+            int words = (candidates + 63) >>> 6;
+            Arrays.fill(bits, 0, words, 0L);
+
+            AtkinUtil.applyAtkinFiltersToBlock(bits, blockStart, blockEnd);
+            AtkinUtil.eliminatePrimeSquaresInBlock(bits, blockStart, blockEnd, basePrimes);
+
+            // Atkin marks primes with set bits; BitSieveUtil collects unset bits
+            for (int word = 0; word < words; word++) bits[word] = ~bits[word];
+            BitSieveUtil.collectBlock(bits, blockStart, candidates, confirmedPrimes);
         }
 
-        return confirmedPrimes;
+        return confirmedPrimes.build();
     }
 }
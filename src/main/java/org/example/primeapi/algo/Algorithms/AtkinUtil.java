@@ -2,13 +2,16 @@ package org.example.primeapi.algo.Algorithms;
 
 
 
-import java.util.ArrayList;
-import java.util.List;
+import org.example.primeapi.model.PrimeArray;
 
 /**
  * Utility class for core Atkin sieve operations.
  * Provides reusable methods for base prime generation using modular filters and square elimination.
  *
+ * <p>The block variants work on odd-only bit arrays (bit {@code i} represents {@code blockStart + 2i})
+ * and only enumerate the (x, y) lattice points whose quadratic form lands inside the block, so the
+ * total work across all blocks stays O(n) no matter how the range is split.
+ *
  * <p>Used by BasePrimeService and AtkinAlgorithm to avoid circular dependencies and promote modularity.
  */
 public class AtkinUtil {
@@ -69,8 +72,8 @@ public class AtkinUtil {
      * @param upperBound       inclusive upper bound
      * @return list of confirmed primes
      */
-    public static List<Integer> collectConfirmedPrimes(boolean[] isPrimeCandidate, int lowerBound, int upperBound) {
-        List<Integer> confirmedPrimes = new ArrayList<>();
+    public static PrimeArray collectConfirmedPrimes(boolean[] isPrimeCandidate, int lowerBound, int upperBound) {
+        PrimeArray.Builder confirmedPrimes = PrimeArray.builder();
 
         if (lowerBound <= 2 && upperBound >= 2) confirmedPrimes.add(2);
         if (lowerBound <= 3 && upperBound >= 3) confirmedPrimes.add(3);
@@ -79,6 +82,93 @@ public class AtkinUtil {
             if (isPrimeCandidate[candidate]) confirmedPrimes.add(candidate);
         }
 
-        return confirmedPrimes;
+        return confirmedPrimes.build();
+    }
+
+    /**
+     * Toggles the candidates of a block for every lattice point of the three Atkin forms that falls
+     * inside [blockStart, blockEnd]. For each x the matching y interval is solved directly, so no
+     * out-of-range (x, y) pairs are visited.
+     *
+     * @param bits       odd-only bit array, cleared by the caller
+     * @param blockStart odd number represented by bit 0
+     * @param blockEnd   inclusive upper bound of the block
+     */
+    public static void applyAtkinFiltersToBlock(long[] bits, long blockStart, long blockEnd) {
+        // n = 4x² + y², n mod 12 ∈ {1, 5}: n odd ⇒ y odd
+        for (long x = 1; 4 * x * x + 1 <= blockEnd; x++) {
+            long base = 4 * x * x;
+            long y = base >= blockStart ? 1 : ceilSqrt(blockStart - base);
+            if ((y & 1) == 0) y++;
+            for (long yMax = floorSqrt(blockEnd - base); y <= yMax; y += 2) {
+                long candidate = base + y * y;
+                int residue = (int) (candidate % 12);
+                if (residue == 1 || residue == 5) toggle(bits, blockStart, candidate);
+            }
+        }
+
+        // n = 3x² + y², n mod 12 = 7: only x odd, y even can reach 7
+        for (long x = 1; 3 * x * x + 4 <= blockEnd; x += 2) {
+            long base = 3 * x * x;
+            long y = base >= blockStart ? 2 : ceilSqrt(blockStart - base);
+            if ((y & 1) == 1) y++;
+            for (long yMax = floorSqrt(blockEnd - base); y <= yMax; y += 2) {
+                long candidate = base + y * y;
+                if (candidate % 12 == 7) toggle(bits, blockStart, candidate);
+            }
+        }
+
+        // n = 3x² − y² with x > y, n mod 12 = 11: n odd ⇒ x + y odd; smallest n for x is 2x² + 2x − 1
+        for (long x = Math.max(2, floorSqrt(blockStart / 3)); 2 * x * x + 2 * x - 1 <= blockEnd; x++) {
+            long base = 3 * x * x;
+            if (base - 1 < blockStart) continue;
+            long y = base - blockEnd <= 1 ? 1 : ceilSqrt(base - blockEnd);
+            if (((x + y) & 1) == 0) y++;
+            for (long yMax = Math.min(x - 1, floorSqrt(base - blockStart)); y <= yMax; y += 2) {
+                long candidate = base - y * y;
+                if (candidate % 12 == 11) toggle(bits, blockStart, candidate);
+            }
+        }
+    }
+
+    /**
+     * Clears every odd multiple of p² inside the block for each base prime p ≥ 5.
+     *
+     * @param bits       odd-only bit array
+     * @param blockStart odd number represented by bit 0
+     * @param blockEnd   inclusive upper bound of the block
+     * @param basePrimes primes ≤ √blockEnd in ascending order
+     */
+    public static void eliminatePrimeSquaresInBlock(long[] bits, long blockStart, long blockEnd, int[] basePrimes) {
+        for (int basePrime : basePrimes) {
+            if (basePrime < 5) continue;
+            long primeSquared = (long) basePrime * basePrime;
+            if (primeSquared > blockEnd) break;
+
+            long multiple = ((blockStart + primeSquared - 1) / primeSquared) * primeSquared;
+            if ((multiple & 1) == 0) multiple += primeSquared;
+
+            for (; multiple <= blockEnd; multiple += 2 * primeSquared) {
+                long index = (multiple - blockStart) >>> 1;
+                bits[(int) (index >>> 6)] &= ~(1L << index);
+            }
+        }
+    }
+
+    private static void toggle(long[] bits, long blockStart, long candidate) {
+        long index = (candidate - blockStart) >>> 1;
+        bits[(int) (index >>> 6)] ^= 1L << index;
+    }
+
+    static long floorSqrt(long value) {
+        long root = (long) Math.sqrt((double) value);
+        while (root * root > value) root--;
+        while ((root + 1) * (root + 1) <= value) root++;
+        return root;
+    }
+
+    static long ceilSqrt(long value) {
+        long root = floorSqrt(value);
+        return root * root == value ? root : root + 1;
     }
 }
@@ -0,0 +1,216 @@
+package org.example.primeapi.algo.Algorithms;
+
+import org.example.primeapi.model.LongPrimeArray;
+import org.example.primeapi.model.PrimeArray;
+
+import java.util.Arrays;
+
+/**
+ * Utility class for the bit-packed, odd-only segmented sieve.
+ * Only odd candidates are stored, 64 per {@code long}, and sieving is done in blocks sized to fit in L1/L2 cache.
+ *
+ * <p>Bit {@code i} of a block starting at odd {@code blockStart} represents {@code blockStart + 2i}.
+ * A set bit marks a composite; survivors are read back with {@code Long.numberOfTrailingZeros}.
+ *
+ * <p>Block positions are tracked as {@code long}, so the same kernel sieves windows beyond
+ * {@code Integer.MAX_VALUE}: {@link #sieveLongRange} and {@link #countLongRange} take 64-bit bounds while base
+ * primes stay in {@code int[]} (√10¹² is only 10⁶).
+ *
+ * <p>Used by BitSieveAlgorithm and reusable by any algorithm that needs fast segmented sieving.
+ */
+public class BitSieveUtil {
+
+    /** Odd candidates per block: 32 KB of longs, i.e. 524,288 integers per block. */
+    public static final int BLOCK_BITS = 1 << 18;
+
+    public static final int BLOCK_WORDS = BLOCK_BITS >>> 6;
+
+    /**
+     * Sieves the inclusive range [lowerBound, upperBound] and collects every prime in it.
+     *
+     * @param lowerBound inclusive lower bound
+     * @param upperBound inclusive upper bound
+     * @param basePrimes odd primes ≤ √upperBound in ascending order (2 may be present and is ignored)
+     * @return ascending primes in range
+     */
+    public static PrimeArray sieveRange(int lowerBound, int upperBound, int[] basePrimes) {
+        if (upperBound < 2 || lowerBound > upperBound) return PrimeArray.empty();
+
+        PrimeArray.Builder confirmedPrimes = PrimeArray.builder();
+        if (lowerBound <= 2) confirmedPrimes.add(2);
+
+        long[] block = new long[BLOCK_WORDS];
+        long firstOdd = Math.max(3, lowerBound | 1);
+
+        for (long blockStart = firstOdd; blockStart <= upperBound; blockStart += 2L * BLOCK_BITS) {
+            long blockEnd = Math.min(upperBound, blockStart + 2L * BLOCK_BITS - 2);
+            int bits = (int) ((blockEnd - blockStart) / 2 + 1);
+
+            sieveBlock(block, blockStart, bits, basePrimes);
+            collectBlock(block, blockStart, bits, confirmedPrimes);
+        }
+
+        return confirmedPrimes.build();
+    }
+
+    /**
+     * Collects primes from {@code lowerBound} upward, stopping after the first block that takes the total past
+     * {@code maxCount} or at {@code upperBound}. Only the blocks a page touches are sieved. The result may hold
+     * more than {@code maxCount} primes, which tells the caller there is a next page.
+     *
+     * @param basePrimes primes ≤ √upperBound in ascending order
+     */
+    public static PrimeArray sieveFrom(int lowerBound, int upperBound, int maxCount, int[] basePrimes) {
+        if (upperBound < 2 || lowerBound > upperBound) return PrimeArray.empty();
+
+        PrimeArray.Builder confirmedPrimes = PrimeArray.builder(maxCount + 1);
+        if (lowerBound <= 2) confirmedPrimes.add(2);
+
+        long[] block = new long[BLOCK_WORDS];
+        long firstOdd = Math.max(3, lowerBound | 1);
+
+        for (long blockStart = firstOdd; blockStart <= upperBound && confirmedPrimes.size() <= maxCount;
+             blockStart += 2L * BLOCK_BITS) {
+            long blockEnd = Math.min(upperBound, blockStart + 2L * BLOCK_BITS - 2);
+            int bits = (int) ((blockEnd - blockStart) / 2 + 1);
+
+            sieveBlock(block, blockStart, bits, basePrimes);
+            collectBlock(block, blockStart, bits, confirmedPrimes);
+        }
+
+        return confirmedPrimes.build();
+    }
+
+    /**
+     * Counts the primes in the inclusive range [lowerBound, upperBound] without collecting them.
+     * Memory use is one block regardless of range size.
+     */
+    public static int countRange(int lowerBound, int upperBound, int[] basePrimes) {
+        return (int) countLongRange(lowerBound, upperBound, basePrimes);
+    }
+
+    /**
+     * 64-bit counterpart of {@link #sieveRange}: collects the primes in [lowerBound, upperBound] for bounds
+     * beyond {@code Integer.MAX_VALUE}.
+     *
+     * @param basePrimes odd primes ≤ √upperBound in ascending order (2 may be present and is ignored)
+     */
+    public static LongPrimeArray sieveLongRange(long lowerBound, long upperBound, int[] basePrimes) {
+        if (upperBound < 2 || lowerBound > upperBound) return LongPrimeArray.empty();
+
+        LongPrimeArray.Builder confirmedPrimes = LongPrimeArray.builder();
+        if (lowerBound <= 2) confirmedPrimes.add(2);
+
+        long[] block = new long[BLOCK_WORDS];
+        long firstOdd = Math.max(3, lowerBound | 1);
+
+        for (long blockStart = firstOdd; blockStart <= upperBound; blockStart += 2L * BLOCK_BITS) {
+            long blockEnd = Math.min(upperBound, blockStart + 2L * BLOCK_BITS - 2);
+            int bits = (int) ((blockEnd - blockStart) / 2 + 1);
+
+            sieveBlock(block, blockStart, bits, basePrimes);
+            collectBlock(block, blockStart, bits, confirmedPrimes);
+        }
+
+        return confirmedPrimes.build();
+    }
+
+    /**
+     * 64-bit counterpart of {@link #countRange}. The count of a window can exceed {@code Integer.MAX_VALUE}
+     * (π(10¹²) is about 3.8·10¹⁰), so it is returned as a {@code long}.
+     */
+    public static long countLongRange(long lowerBound, long upperBound, int[] basePrimes) {
+        if (upperBound < 2 || lowerBound > upperBound) return 0;
+
+        long count = lowerBound <= 2 ? 1 : 0;
+        long[] block = new long[BLOCK_WORDS];
+        long firstOdd = Math.max(3, lowerBound | 1);
+
+        for (long blockStart = firstOdd; blockStart <= upperBound; blockStart += 2L * BLOCK_BITS) {
+            long blockEnd = Math.min(upperBound, blockStart + 2L * BLOCK_BITS - 2);
+            int bits = (int) ((blockEnd - blockStart) / 2 + 1);
+
+            sieveBlock(block, blockStart, bits, basePrimes);
+            count += countBlock(block, bits);
+        }
+
+        return count;
+    }
+
+    /**
+     * Clears the block and marks every odd composite in [blockStart, blockStart + 2(bits − 1)].
+     *
+     * @param block      reusable bit array of at least {@code ceil(bits / 64)} words
+     * @param blockStart odd number represented by bit 0
+     * @param bits       number of odd candidates in this block
+     * @param basePrimes primes ≤ √(last candidate) in ascending order
+     */
+    public static void sieveBlock(long[] block, long blockStart, int bits, int[] basePrimes) {
+        int words = (bits + 63) >>> 6;
+        Arrays.fill(block, 0, words, 0L);
+        long blockEnd = blockStart + 2L * (bits - 1);
+
+        for (int basePrime : basePrimes) {
+            if (basePrime == 2) continue;
+            long primeSquared = (long) basePrime * basePrime;
+            if (primeSquared > blockEnd) break;
+
+            long firstMultiple = Math.max(primeSquared, ((blockStart + basePrime - 1) / basePrime) * basePrime);
+            if ((firstMultiple & 1) == 0) firstMultiple += basePrime;
+
+            for (int index = (int) ((firstMultiple - blockStart) >>> 1); index < bits; index += basePrime) {
+                block[index >>> 6] |= 1L << index;
+            }
+        }
+    }
+
+    /**
+     * Appends the survivors of a sieved block to {@code confirmedPrimes}.
+     */
+    public static void collectBlock(long[] block, long blockStart, int bits, PrimeArray.Builder confirmedPrimes) {
+        int words = (bits + 63) >>> 6;
+        for (int word = 0; word < words; word++) {
+            long survivors = ~block[word] & tailMask(word, bits);
+            while (survivors != 0) {
+                int bit = Long.numberOfTrailingZeros(survivors);
+                confirmedPrimes.add((int) (blockStart + 2L * ((word << 6) + bit)));
+                survivors &= survivors - 1;
+            }
+        }
+    }
+
+    /**
+     * Appends the survivors of a sieved block to a 64-bit {@code confirmedPrimes}.
+     */
+    public static void collectBlock(long[] block, long blockStart, int bits, LongPrimeArray.Builder confirmedPrimes) {
+        int words = (bits + 63) >>> 6;
+        for (int word = 0; word < words; word++) {
+            long survivors = ~block[word] & tailMask(word, bits);
+            while (survivors != 0) {
+                int bit = Long.numberOfTrailingZeros(survivors);
+                confirmedPrimes.add(blockStart + 2L * ((word << 6) + bit));
+                survivors &= survivors - 1;
+            }
+        }
+    }
+
+    /**
+     * Number of survivors in a sieved block, via {@code Long.bitCount}.
+     */
+    public static int countBlock(long[] block, int bits) {
+        int words = (bits + 63) >>> 6;
+        int count = 0;
+        for (int word = 0; word < words; word++) {
+            count += Long.bitCount(~block[word] & tailMask(word, bits));
+        }
+        return count;
+    }
+
+    /**
+     * Mask of valid bits for the given word, so stale bits past the end of a short block are ignored.
+     */
+    static long tailMask(int word, int bits) {
+        int remaining = bits - (word << 6);
+        return remaining >= 64 ? -1L : (1L << remaining) - 1;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.primeapi.algo.Algorithms;
+
+import org.example.primeapi.algo.AbstractPrimeAlgorithm;
+import org.example.primeapi.algo.ExecutionStrategy;
+import org.example.primeapi.model.PrimeArray;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Tests every odd candidate with the deterministic 64-bit Miller–Rabin test from {@link MillerRabin64Util}.
+ *
+ * <p>Unlike {@link MillerRabinAlgorithm}, which runs five fixed bases with {@code %} on every candidate, each
+ * candidate here is first trial-divided by the primes up to 61, so most composites never reach a Miller–Rabin
+ * round. The survivors are tested with bases {2, 7, 61} below 2³² and with the seven-base set, in Montgomery
+ * form, above it. The answer is exact for every input, never probabilistic.
+ *
+ * <p>Parallelization:
+ * <ul>
+ *   <li>Cost per candidate grows with log n, so the range is split into fork/join leaves and idle workers
+ *       steal pending ones, as for {@code miller}</li>
+ * </ul>
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * PrimeArray primes = millerRabin64Algorithm.generate(1_000_000, 8);
+ * boolean prime = MillerRabin64Util.isPrime(999_999_999_989L);
+ * }</pre>
+ *
+ * @see MillerRabin64Util
+ * @see org.example.primeapi.algo.PrimeAlgorithm
+ */
+@Component
+public class MillerRabin64Algorithm extends AbstractPrimeAlgorithm {
+
+    @Override
+    public String name() {
+        return "miller64";
+    }
+
+    @Override
+    protected ExecutionStrategy executionStrategy() {
+        return ExecutionStrategy.FORK_JOIN;
+    }
+
+    @Override
+    public PrimeArray generate(int upperLimit, int threads) {
+        if (upperLimit < 2) return PrimeArray.empty();
+        return runThreaded("Miller-Rabin 64", 2, upperLimit, threads, MillerRabin64Algorithm::chunk);
+    }
+
+    @Override
+    public PrimeArray generateRange(int from, int to, int threads) {
+        int lowerBound = Math.max(2, from);
+        if (to < lowerBound) return PrimeArray.empty();
+        return runThreaded("Miller-Rabin 64 Range", lowerBound, to, threads, MillerRabin64Algorithm::chunk);
+    }
+
+    private static PrimeArray chunk(int start, int end) {
+        PrimeArray.Builder confirmedPrimes = PrimeArray.builder();
+        if (start <= 2 && end >= 2) confirmedPrimes.add(2);
+
+        // Odd candidates only; long so the step past Integer.MAX_VALUE cannot wrap
+        for (long candidate = Math.max(3, start | 1); candidate <= end; candidate += 2) {
+            if (MillerRabin64Util.isPrime(candidate)) confirmedPrimes.add((int) candidate);
+        }
+        return confirmedPrimes.build();
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.primeapi.algo.Algorithms;
+
+/**
+ * Deterministic Miller–Rabin primality test for every non-negative {@code long}.
+ *
+ * <p>Three stages, cheapest first:
+ * <ul>
+ *   <li>Trial division by the primes up to 61, which settles about 80% of random odd inputs and every
+ *       input below 67² outright</li>
+ *   <li>Inputs below 2³² use bases {2, 7, 61}, which have no common strong pseudoprime under 4,759,123,141.
+ *       Products of two 32-bit residues fit in 64 bits, so plain {@code Long.remainderUnsigned} is enough</li>
+ *   <li>Larger inputs use the seven bases {2, 325, 9375, 28178, 450775, 9780504, 1795265022}, which are
+ *       deterministic for all n &lt; 2⁶⁴. Multiplication is done in Montgomery form with R = 2⁶⁴: the 128-bit
+ *       product comes from {@code Math.multiplyHigh} and the reduction needs no division at all</li>
+ * </ul>
+ *
+ * <p>Used by {@link MillerRabin64Algorithm} and by {@link org.example.primeapi.service.PrimalityService}.
+ */
+public class MillerRabin64Util {
+
+    /** Primes tried by division before any Miller–Rabin round. */
+    static final int[] SMALL_PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61};
+
+    /** Every composite below this has a factor in {@link #SMALL_PRIMES}. */
+    private static final long TRIAL_DIVISION_LIMIT = 67L * 67;
+
+    private static final long[] BASES_32 = {2, 7, 61};
+
+    private static final long[] BASES_64 = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
+    private MillerRabin64Util() {
+    }
+
+    /**
+     * Whether {@code n} is prime. Exact for every {@code long}; negative numbers, 0 and 1 are not prime.
+     */
+    public static boolean isPrime(long n) {
+        if (n < 2) return false;
+        for (int smallPrime : SMALL_PRIMES) {
+            if (n % smallPrime == 0) return n == smallPrime;
+        }
+        if (n < TRIAL_DIVISION_LIMIT) return true;
+
+        return n < 1L << 32 ? isStrongProbablePrime32(n) : isStrongProbablePrime64(n);
+    }
+
+    /**
+     * Miller–Rabin with bases {2, 7, 61} for odd 3 &lt; n &lt; 2³².
+     */
+    private static boolean isStrongProbablePrime32(long n) {
+        long d = n - 1;
+        int r = Long.numberOfTrailingZeros(d);
+        d >>>= r;
+
+        for (long base : BASES_32) {
+            long x = powMod32(base % n, d, n);
+            if (x == 1 || x == n - 1) continue;
+
+            boolean passed = false;
+            for (int i = 1; i < r; i++) {
+                x = Long.remainderUnsigned(x * x, n);
+                if (x == n - 1) {
+                    passed = true;
+                    break;
+                }
+            }
+            if (!passed) return false;
+        }
+        return true;
+    }
+
+    private static long powMod32(long base, long exponent, long n) {
+        long result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) result = Long.remainderUnsigned(result * base, n);
+            base = Long.remainderUnsigned(base * base, n);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Miller–Rabin with the seven 64-bit bases, in Montgomery form, for odd 2³² ≤ n ≤ {@code Long.MAX_VALUE}.
+     */
+    private static boolean isStrongProbablePrime64(long n) {
+        Montgomery montgomery = new Montgomery(n);
+        long one = montgomery.one;
+        long minusOne = n - one;
+
+        long d = n - 1;
+        int r = Long.numberOfTrailingZeros(d);
+        d >>>= r;
+
+        for (long base : BASES_64) {
+            long reduced = base % n;
+            if (reduced == 0) continue; // a multiple of n says nothing about n
+
+            long x = montgomery.pow(montgomery.toMontgomery(reduced), d);
+            if (x == one || x == minusOne) continue;
+
+            boolean passed = false;
+            for (int i = 1; i < r; i++) {
+                x = montgomery.multiply(x, x);
+                if (x == minusOne) {
+                    passed = true;
+                    break;
+                }
+            }
+            if (!passed) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Montgomery arithmetic modulo an odd {@code n < 2⁶³} with R = 2⁶⁴. Residues are kept in [0, n).
+     */
+    static final class Montgomery {
+
+        private final long n;
+        /** −n⁻¹ mod 2⁶⁴. */
+        private final long negativeInverse;
+        /** R mod n, i.e. 1 in Montgomery form. */
+        final long one;
+        /** R² mod n, used to convert into Montgomery form. */
+        private final long rSquared;
+
+        Montgomery(long n) {
+            this.n = n;
+
+            // n·n ≡ 1 (mod 8) for odd n, and each Newton step doubles the correct low bits: 3 → 6 → ... → 96
+            long inverse = n;
+            for (int i = 0; i < 6; i++) inverse *= 2 - n * inverse;
+            this.negativeInverse = -inverse;
+
+            // 2⁶⁴ mod n equals (2⁶⁴ − n) mod n, and −n read as unsigned is exactly 2⁶⁴ − n
+            this.one = Long.remainderUnsigned(-n, n);
+
+            // R² mod n by doubling R mod n another 64 times; 2·r < 2⁶⁴ because r < n < 2⁶³
+            long r2 = one;
+            for (int i = 0; i < 64; i++) {
+                r2 <<= 1;
+                if (Long.compareUnsigned(r2, n) >= 0) r2 -= n;
+            }
+            this.rSquared = r2;
+        }
+
+        long toMontgomery(long value) {
+            return multiply(value, rSquared);
+        }
+
+        /**
+         * a·b·R⁻¹ mod n for a, b in [0, n).
+         */
+        long multiply(long a, long b) {
+            long productHigh = Math.multiplyHigh(a, b); // a, b < 2⁶³, so the signed high word is the unsigned one
+            long productLow = a * b;
+
+            long m = productLow * negativeInverse;
+            // Unsigned high word of m·n: m may have its top bit set, n never does
+            long mnHigh = Math.multiplyHigh(m, n) + ((m >> 63) & n);
+
+            // productLow + m·n ≡ 0 (mod 2⁶⁴), so the low words carry exactly when productLow is non-zero
+            long t = productHigh + mnHigh + (productLow != 0 ? 1 : 0);
+            return Long.compareUnsigned(t, n) >= 0 ? t - n : t;
+        }
+
+        long pow(long base, long exponent) {
+            long result = one;
+            while (exponent > 0) {
+                if ((exponent & 1) == 1) result = multiply(result, base);
+                base = multiply(base, base);
+                exponent >>>= 1;
+            }
+            return result;
+        }
+    }
+}
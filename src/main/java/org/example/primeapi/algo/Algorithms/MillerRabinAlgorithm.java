@@ -1,10 +1,10 @@
 package org.example.primeapi.algo.Algorithms;
 
 import org.example.primeapi.algo.AbstractPrimeAlgorithm;
+import org.example.primeapi.algo.ExecutionStrategy;
+import org.example.primeapi.model.PrimeArray;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 
@@ -52,7 +52,7 @@ import java.util.stream.IntStream;
  *
  * <p>Usage:
  * <pre>{@code
- * List<Integer> primes = millerRabinAlgorithm.generate(1_000_000, 8);
+ * PrimeArray primes = millerRabinAlgorithm.generate(1_000_000, 8);
  * }</pre>
  *
  * @author Dan
@@ -66,16 +66,31 @@ public class MillerRabinAlgorithm extends AbstractPrimeAlgorithm {
         return "miller";
     }
 
+    /**
+     * Squarings per base grow with log n and only primes pay for every base, so chunks take uneven time; small
+     * leaves let idle workers pick up the slack.
+     */
     @Override
-    public List<Integer> generate(int upperLimit, int threads) {
+    protected ExecutionStrategy executionStrategy() {
+        return ExecutionStrategy.FORK_JOIN;
+    }
+
+    @Override
+    public PrimeArray generate(int upperLimit, int threads) {
         return runThreaded("Miller-Rabin", 2, upperLimit, threads, this::chunk);
     }
 
-    private List<Integer> chunk(int start, int end) {
-        return IntStream.rangeClosed(start, end)
+    @Override
+    public PrimeArray generateRange(int from, int to, int threads) {
+        int lowerBound = Math.max(2, from);
+        if (to < lowerBound) return PrimeArray.empty();
+        return runThreaded("Miller-Rabin Range", lowerBound, to, threads, this::chunk);
+    }
+
+    private PrimeArray chunk(int start, int end) {
+        return PrimeArray.wrap(IntStream.rangeClosed(start, end)
                 .filter(this::isProbablyPrime)
-                .boxed()
-                .collect(Collectors.toList());
+                .toArray());
     }
 
     private boolean isProbablyPrime(int n) {
@@ -0,0 +1,169 @@
+package org.example.primeapi.algo.Algorithms;
+
+import org.example.primeapi.model.PrimeArray;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.example.primeapi.algo.Algorithms.WheelSieveUtil.BIT_OF;
+import static org.example.primeapi.algo.Algorithms.WheelSieveUtil.RESIDUES;
+import static org.example.primeapi.algo.Algorithms.WheelSieveUtil.WHEEL;
+
+/**
+ * Read-only, memory-mapped table of every prime up to a fixed limit, written by {@link PrimeTableGenerator}.
+ *
+ * <p>The data uses the {@link WheelSieveUtil} layout: byte {@code k}, bit {@code i} is set when
+ * {@code 30k + RESIDUES[i]} is prime, so 1e9 fits in about 33 MB. 2, 3 and 5 are implied. The file is mapped
+ * with {@link FileChannel#map}, so pages are loaded lazily by the OS and shared between processes. Queries only
+ * read bits; nothing is sieved.
+ *
+ * <p>File layout, big-endian:
+ * <pre>
+ * int magic "PRMT" | int version | int limit | int reserved | (limit / 30 + 1) data bytes
+ * </pre>
+ * Bits for numbers above {@code limit} in the last byte are always clear.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ */
+public class PrimeTable {
+
+    static final int MAGIC = 0x50524D54; // "PRMT"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    private static final int[] SMALL_PRIMES = {2, 3, 5};
+
+    private final ByteBuffer data;
+    private final int limit;
+
+    private PrimeTable(ByteBuffer data, int limit) {
+        this.data = data;
+        this.limit = limit;
+    }
+
+    /**
+     * Maps a table file into memory and validates its header.
+     *
+     * @throws IOException if the file cannot be read or is not a complete prime table
+     */
+    public static PrimeTable open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) throw new IOException("Not a prime table: " + path);
+
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt(0) != MAGIC) throw new IOException("Not a prime table: " + path);
+            if (mapped.getInt(4) != VERSION) {
+                throw new IOException("Unsupported prime table version " + mapped.getInt(4) + ": " + path);
+            }
+
+            int limit = mapped.getInt(8);
+            long expected = HEADER_BYTES + dataBytes(limit);
+            if (limit < 0 || channel.size() != expected) {
+                throw new IOException("Truncated prime table: " + path + " has " + channel.size()
+                        + " bytes, expected " + expected);
+            }
+            // The mapping stays valid after the channel is closed
+            return new PrimeTable(mapped.slice(HEADER_BYTES, (int) dataBytes(limit)), limit);
+        }
+    }
+
+    static long dataBytes(int limit) {
+        return limit / WHEEL + 1L;
+    }
+
+    /** Largest number this table answers for. */
+    public int limit() {
+        return limit;
+    }
+
+    public boolean covers(int upperLimit) {
+        return upperLimit <= limit;
+    }
+
+    public boolean isPrime(int n) {
+        checkCovered(n);
+        if (n < 7) return n == 2 || n == 3 || n == 5;
+        int bit = BIT_OF[n % WHEEL];
+        return bit >= 0 && (data.get(n / WHEEL) & (1 << bit)) != 0;
+    }
+
+    /**
+     * Primes in the inclusive range [lowerBound, upperBound], in ascending order.
+     */
+    public PrimeArray primesInRange(int lowerBound, int upperBound) {
+        checkCovered(upperBound);
+        if (upperBound < 2 || lowerBound > upperBound) return PrimeArray.empty();
+
+        PrimeArray.Builder primes = PrimeArray.builder(estimateCount(lowerBound, upperBound));
+        for (int smallPrime : SMALL_PRIMES) {
+            if (smallPrime >= lowerBound && smallPrime <= upperBound) primes.add(smallPrime);
+        }
+
+        int lastByte = upperBound / WHEEL;
+        for (int index = Math.max(0, lowerBound) / WHEEL; index <= lastByte; index++) {
+            int bits = data.get(index) & 0xFF;
+            long base = (long) index * WHEEL;
+            while (bits != 0) {
+                long candidate = base + RESIDUES[Integer.numberOfTrailingZeros(bits)];
+                if (candidate >= lowerBound && candidate <= upperBound) primes.add((int) candidate);
+                bits &= bits - 1;
+            }
+        }
+        return primes.build();
+    }
+
+    /**
+     * Number of primes in the inclusive range [lowerBound, upperBound]. Whole bytes are tallied eight at a time
+     * with {@code Long.bitCount}; only the two edge bytes are checked bit by bit.
+     */
+    public int count(int lowerBound, int upperBound) {
+        checkCovered(upperBound);
+        if (upperBound < 2 || lowerBound > upperBound) return 0;
+
+        int count = 0;
+        for (int smallPrime : SMALL_PRIMES) {
+            if (smallPrime >= lowerBound && smallPrime <= upperBound) count++;
+        }
+
+        int firstByte = Math.max(0, lowerBound) / WHEEL;
+        int lastByte = upperBound / WHEEL;
+        count += countEdge(firstByte, lowerBound, upperBound);
+        if (lastByte == firstByte) return count;
+        count += countEdge(lastByte, lowerBound, upperBound);
+
+        int index = firstByte + 1;
+        for (; index + Long.BYTES <= lastByte; index += Long.BYTES) count += Long.bitCount(data.getLong(index));
+        for (; index < lastByte; index++) count += Integer.bitCount(data.get(index) & 0xFF);
+        return count;
+    }
+
+    private int countEdge(int index, int lowerBound, int upperBound) {
+        int bits = data.get(index) & 0xFF;
+        long base = (long) index * WHEEL;
+        int count = 0;
+        while (bits != 0) {
+            long candidate = base + RESIDUES[Integer.numberOfTrailingZeros(bits)];
+            if (candidate >= lowerBound && candidate <= upperBound) count++;
+            bits &= bits - 1;
+        }
+        return count;
+    }
+
+    private void checkCovered(int n) {
+        if (n > limit) throw new IllegalArgumentException(n + " is beyond the prime table limit " + limit);
+    }
+
+    /**
+     * Slight overestimate of the primes in range, from π(x) < x / (ln x − 1.1) and π(x) > x / ln x, so the
+     * builder is sized once.
+     */
+    private static int estimateCount(int lowerBound, int upperBound) {
+        if (upperBound < 100) return 32;
+        double upper = upperBound / (Math.log(upperBound) - 1.1);
+        double lower = lowerBound < 17 ? 0 : lowerBound / Math.log(lowerBound);
+        return (int) Math.max(32, (upper - lower) * 1.05);
+    }
+}
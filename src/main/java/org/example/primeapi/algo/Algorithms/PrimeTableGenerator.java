@@ -0,0 +1,110 @@
+package org.example.primeapi.algo.Algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static org.example.primeapi.algo.Algorithms.WheelSieveUtil.BLOCK_BYTES;
+import static org.example.primeapi.algo.Algorithms.WheelSieveUtil.RESIDUES;
+import static org.example.primeapi.algo.Algorithms.WheelSieveUtil.WHEEL;
+
+/**
+ * Offline generator for {@link PrimeTable} files. Sieves [0, limit] block by block with {@link WheelSieveUtil}
+ * and streams each block to disk, so memory use is one 32 KB block however large the table.
+ *
+ * <p>Usage, after {@code mvn compile}:
+ * <pre>{@code
+ * java -cp target/classes org.example.primeapi.algo.Algorithms.PrimeTableGenerator primes-1e9.bin 1000000000
+ * }</pre>
+ * The table is written to a temporary file and moved into place when complete, so a running server never maps a
+ * half-written table.
+ */
+public class PrimeTableGenerator {
+
+    private PrimeTableGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: PrimeTableGenerator <output file> <limit>");
+            System.exit(2);
+        }
+        Path output = Path.of(args[0]);
+        int limit = Integer.parseInt(args[1].replace("_", ""));
+
+        long start = System.currentTimeMillis();
+        generate(output, limit);
+        System.out.printf("Wrote prime table for limit %,d to %s (%,d bytes) in %d ms%n",
+                limit, output, Files.size(output), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Writes a table of every prime ≤ {@code limit} to {@code output}, replacing any existing file.
+     */
+    public static void generate(Path output, int limit) throws IOException {
+        if (limit < 0) throw new IllegalArgumentException("Limit must be non-negative: " + limit);
+
+        Path absolute = output.toAbsolutePath();
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(PrimeTable.HEADER_BYTES)
+                        .putInt(PrimeTable.MAGIC).putInt(PrimeTable.VERSION).putInt(limit).putInt(0).flip();
+                writeFully(channel, header);
+                writeData(channel, limit);
+                channel.force(false);
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeData(FileChannel channel, int limit) throws IOException {
+        int[] basePrimes = basePrimes((int) Math.sqrt(limit));
+        byte[] block = new byte[BLOCK_BYTES];
+        long lastByte = PrimeTable.dataBytes(limit) - 1;
+
+        for (long firstByte = 0; firstByte <= lastByte; firstByte += BLOCK_BYTES) {
+            int bytes = (int) Math.min(BLOCK_BYTES, lastByte - firstByte + 1);
+            WheelSieveUtil.sieveBlock(block, firstByte, bytes, basePrimes);
+            if (firstByte + bytes - 1 == lastByte) block[bytes - 1] &= (byte) tailMask(lastByte, limit);
+            writeFully(channel, ByteBuffer.wrap(block, 0, bytes));
+        }
+    }
+
+    /** Bits of the last byte whose numbers are ≤ limit. */
+    private static int tailMask(long lastByte, int limit) {
+        int mask = 0;
+        for (int bit = 0; bit < RESIDUES.length; bit++) {
+            if (lastByte * WHEEL + RESIDUES[bit] <= limit) mask |= 1 << bit;
+        }
+        return mask;
+    }
+
+    /** Plain sieve for the primes ≤ √limit (at most 46,340), which the block sieve needs as input. */
+    static int[] basePrimes(int limit) {
+        if (limit < 2) return new int[0];
+        boolean[] composite = new boolean[limit + 1];
+        int count = 0;
+        for (int i = 2; i <= limit; i++) {
+            if (composite[i]) continue;
+            count++;
+            for (long multiple = (long) i * i; multiple <= limit; multiple += i) composite[(int) multiple] = true;
+        }
+        int[] primes = new int[count];
+        for (int i = 2, position = 0; i <= limit; i++) {
+            if (!composite[i]) primes[position++] = i;
+        }
+        return primes;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+}
@@ -2,11 +2,13 @@ package org.example.primeapi.algo.Algorithms;
 
 import org.example.primeapi.algo.AbstractPrimeAlgorithm;
 import org.example.primeapi.algo.BasePrimeService;
+import org.example.primeapi.model.PrimeArray;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
 
 
 /**
@@ -59,7 +61,7 @@ import java.util.*;
  *
  * <p>Usage:
  * <pre>{@code
- * List<Integer> primes = sieveAlgorithm.generate(1_000_000, 4);
+ * PrimeArray primes = sieveAlgorithm.generate(1_000_000, 4);
  * }</pre>
  */
 @Component
@@ -76,26 +78,49 @@ public class SieveAlgorithm extends AbstractPrimeAlgorithm {
     }
 
     @Override
-    public List<Integer> generate(int upperLimit, int threads) {
+    public PrimeArray generate(int upperLimit, int threads) {
         int sqrtLimit = (int) Math.sqrt(upperLimit);
-        List<Integer> basePrimes = basePrimeService.generateSieveBasePrimes(sqrtLimit);
+        PrimeArray basePrimes = basePrimeService.generateSieveBasePrimes(sqrtLimit);
 
         if (upperLimit <= sqrtLimit) return basePrimes;
 
-        List<Integer> segmentedPrimes = (threads <= 1)
-                ? sieveSegment(sqrtLimit + 1, upperLimit, basePrimes)
+        int[] sievingPrimes = basePrimes.toIntArray();
+        PrimeArray segmentedPrimes = (threads <= 1)
+                ? sieveSegment(sqrtLimit + 1, upperLimit, sievingPrimes)
                 : runThreaded("Sieve", sqrtLimit + 1, upperLimit, threads,
-                (segmentStart, segmentEnd) -> sieveSegment(segmentStart, segmentEnd, basePrimes));
+                (segmentStart, segmentEnd) -> sieveSegment(segmentStart, segmentEnd, sievingPrimes));
 
-        List<Integer> allPrimes = new ArrayList<>(basePrimes);
-        allPrimes.addAll(segmentedPrimes);
-        Collections.sort(allPrimes);
-        return allPrimes;
+        return PrimeArray.concat(List.of(basePrimes, segmentedPrimes));
     }
 
 
 
-    public List<Integer> generateBasePrimesForTesting(int limit) {
+    @Override
+    public PrimeArray generateRange(int from, int to, int threads) {
+        int lowerBound = Math.max(2, from);
+        if (to < lowerBound) return PrimeArray.empty();
+
+        int[] sievingPrimes = basePrimeService.generateSieveBasePrimes((int) Math.sqrt(to)).toIntArray();
+        return (threads <= 1)
+                ? sieveSegment(lowerBound, to, sievingPrimes)
+                : runThreaded("Sieve Range", lowerBound, to, threads,
+                (segmentStart, segmentEnd) -> sieveSegment(segmentStart, segmentEnd, sievingPrimes));
+    }
+
+    /**
+     * Counts with the bit-packed kernel from {@link BitSieveUtil}: a {@code boolean[]} per chunk would make
+     * memory grow with the limit, which is exactly what count-only callers want to avoid.
+     */
+    @Override
+    public int count(int upperLimit, int threads) {
+        if (upperLimit < 2) return 0;
+
+        int[] sievingPrimes = basePrimeService.generateSieveBasePrimes((int) Math.sqrt(upperLimit)).toIntArray();
+        return countThreaded("Sieve Count", 2, upperLimit, threads,
+                (segmentStart, segmentEnd) -> BitSieveUtil.countRange(segmentStart, segmentEnd, sievingPrimes));
+    }
+
+    public PrimeArray generateBasePrimesForTesting(int limit) {
         return basePrimeService.generateSieveBasePrimes(limit);
     }
 
@@ -103,27 +128,30 @@ public class SieveAlgorithm extends AbstractPrimeAlgorithm {
     /**
      * Applies segmented sieve logic to eliminate composites in the range [segmentStart, segmentEnd].
      */
-    private List<Integer> sieveSegment(int segmentStart, int segmentEnd, List<Integer> basePrimes) {
+    private PrimeArray sieveSegment(int segmentStart, int segmentEnd, int[] basePrimes) {
         int segmentSize = segmentEnd - segmentStart + 1;
         boolean[] isPrimeCandidate = new boolean[segmentSize];
         Arrays.fill(isPrimeCandidate, true);
 
+        // Multiples are tracked as long: near Integer.MAX_VALUE, p², the rounded-up first multiple and the
+        // step past segmentEnd would all wrap around as int
         for (int basePrime : basePrimes) {
-            int primeSquared = basePrime * basePrime;
-            int firstMultipleInSegment = Math.max(primeSquared,
-                    ((segmentStart + basePrime - 1) / basePrime) * basePrime);
+            long primeSquared = (long) basePrime * basePrime;
+            if (primeSquared > segmentEnd) break;
+            long firstMultipleInSegment = Math.max(primeSquared,
+                    (((long) segmentStart + basePrime - 1) / basePrime) * basePrime);
 
-            for (int multiple = firstMultipleInSegment; multiple <= segmentEnd; multiple += basePrime) {
-                isPrimeCandidate[multiple - segmentStart] = false;
+            for (long multiple = firstMultipleInSegment; multiple <= segmentEnd; multiple += basePrime) {
+                isPrimeCandidate[(int) (multiple - segmentStart)] = false;
             }
         }
 
-        List<Integer> confirmedPrimes = new ArrayList<>();
+        PrimeArray.Builder confirmedPrimes = PrimeArray.builder();
         for (int offset = 0; offset < segmentSize; offset++) {
             int candidate = segmentStart + offset;
             if (isPrimeCandidate[offset]) confirmedPrimes.add(candidate);
         }
 
-        return confirmedPrimes;
+        return confirmedPrimes.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package org.example.primeapi.algo.Algorithms;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.algo.AbstractPrimeAlgorithm;
+import org.example.primeapi.algo.BasePrimeService;
+import org.example.primeapi.model.PrimeArray;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+/**
+ * Answers prime queries from a precomputed, memory-mapped {@link PrimeTable} instead of sieving.
+ *
+ * <p>The table is built offline with {@link PrimeTableGenerator} and loaded from {@code PRIME_TABLE_PATH} at
+ * startup. Every query is a scan of bits that are already on disk (and, once touched, in the page cache):
+ * <ul>
+ *   <li>{@code generate}: collect set bits in [2, n], split across threads like the sieves</li>
+ *   <li>{@code count}: {@code Long.bitCount} over 8 bytes (240 numbers) at a time</li>
+ *   <li>{@link #isPrime(int)}: one byte read</li>
+ *   <li>{@link #primesInRange(int, int)}: collect set bits in [from, to] without touching anything below</li>
+ * </ul>
+ *
+ * <p>If no table is configured, the file is missing or invalid, or a query goes past the table's limit,
+ * {@code generate} and {@code count} fall back to {@link SieveAlgorithm}, and the point and range queries fall
+ * back to the wheel sieve, so results never depend on whether a table is present.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * PrimeArray primes = tableAlgorithm.generate(1_000_000, 4);
+ * boolean prime = tableAlgorithm.isPrime(999_999_937);
+ * }</pre>
+ *
+ * @see PrimeTable
+ * @see org.example.primeapi.algo.PrimeAlgorithm
+ */
+@Slf4j
+@Component
+public class TableAlgorithm extends AbstractPrimeAlgorithm {
+
+    @Autowired
+    private SieveAlgorithm sieveAlgorithm;
+
+    @Autowired
+    private BasePrimeService basePrimeService;
+
+    @Value("${PRIME_TABLE_PATH:}")
+    private String tablePath;
+
+    private volatile PrimeTable table;
+
+    @Override
+    public String name() {
+        return "table";
+    }
+
+    @PostConstruct
+    void loadConfiguredTable() {
+        if (tablePath == null || tablePath.isBlank()) {
+            log.info("No PRIME_TABLE_PATH set; the 'table' algorithm will fall back to sieve");
+            return;
+        }
+        Path path = Path.of(tablePath);
+        if (!Files.exists(path)) {
+            log.warn("Prime table {} not found; the 'table' algorithm will fall back to sieve", path);
+            return;
+        }
+        try {
+            load(path);
+        } catch (IOException e) {
+            log.warn("Could not load prime table {}; the 'table' algorithm will fall back to sieve: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Maps the table at {@code path} and starts answering from it, replacing any previous table.
+     */
+    public void load(Path path) throws IOException {
+        PrimeTable loaded = PrimeTable.open(path);
+        table = loaded;
+        log.info("Mapped prime table {} covering primes up to {}", path, loaded.limit());
+    }
+
+    /**
+     * Stops using the current table; every query falls back until another one is loaded.
+     */
+    public void unload() {
+        table = null;
+    }
+
+    /** Limit of the loaded table, or -1 when none is loaded. */
+    public int tableLimit() {
+        PrimeTable current = table;
+        return current == null ? -1 : current.limit();
+    }
+
+    @Override
+    public PrimeArray generate(int upperLimit, int threads) {
+        PrimeTable current = table;
+        if (current == null || !current.covers(upperLimit)) return sieveAlgorithm.generate(upperLimit, threads);
+        if (upperLimit < 2) return PrimeArray.empty();
+
+        if (threads <= 1) {
+            return current.primesInRange(2, upperLimit);
+        }
+        return runThreaded("Prime Table", 2, upperLimit, threads, current::primesInRange);
+    }
+
+    @Override
+    public int count(int upperLimit, int threads) {
+        PrimeTable current = table;
+        if (current == null || !current.covers(upperLimit)) return sieveAlgorithm.count(upperLimit, threads);
+        return current.count(2, upperLimit);
+    }
+
+    @Override
+    public PrimeArray generateRange(int from, int to, int threads) {
+        PrimeTable current = table;
+        if (current == null || !current.covers(to)) return sieveAlgorithm.generateRange(from, to, threads);
+        if (to < Math.max(2, from)) return PrimeArray.empty();
+
+        if (threads <= 1) {
+            return current.primesInRange(from, to);
+        }
+        return runThreaded("Prime Table Range", Math.max(2, from), to, threads, current::primesInRange);
+    }
+
+    public boolean isPrime(int n) {
+        PrimeTable current = table;
+        if (current != null && current.covers(n)) return current.isPrime(n);
+        return n >= 2 && !primesInRange(n, n).isEmpty();
+    }
+
+    /**
+     * Primes in the inclusive range [from, to]. Only the bytes for that range are read, or, without a covering
+     * table, only that range is sieved.
+     */
+    public PrimeArray primesInRange(int from, int to) {
+        PrimeTable current = table;
+        if (current != null && current.covers(to)) return current.primesInRange(from, to);
+        if (to < 2 || from > to) return PrimeArray.empty();
+
+        int[] basePrimes = basePrimeService.generateSieveBasePrimes((int) Math.sqrt(to)).toIntArray();
+        return WheelSieveUtil.sieveRange(from, to, basePrimes);
+    }
+}
@@ -1,10 +1,10 @@
 package org.example.primeapi.algo.Algorithms;
 
 import org.example.primeapi.algo.AbstractPrimeAlgorithm;
+import org.example.primeapi.algo.ExecutionStrategy;
+import org.example.primeapi.model.PrimeArray;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @Component
@@ -15,18 +15,32 @@ public class TrialAlgorithm extends AbstractPrimeAlgorithm {
         return "trial";
     }
 
+    /**
+     * Each candidate costs up to √n divisions, so the top chunk of an even split runs far longer than the bottom one.
+     */
     @Override
-    public List<Integer> generate(int upperLimit, int threads) {
+    protected ExecutionStrategy executionStrategy() {
+        return ExecutionStrategy.FORK_JOIN;
+    }
+
+    @Override
+    public PrimeArray generate(int upperLimit, int threads) {
         return runThreaded("Trial", 2, upperLimit, threads, this::trialChunk);
     }
 
+    @Override
+    public PrimeArray generateRange(int from, int to, int threads) {
+        int lowerBound = Math.max(2, from);
+        if (to < lowerBound) return PrimeArray.empty();
+        return runThreaded("Trial Range", lowerBound, to, threads, this::trialChunk);
+    }
+
 
 
-    private List<Integer> trialChunk(int start, int end) {
-        return IntStream.rangeClosed(start, end)
+    private PrimeArray trialChunk(int start, int end) {
+        return PrimeArray.wrap(IntStream.rangeClosed(start, end)
                 .filter(this::isPrime)
-                .boxed()
-                .collect(Collectors.toList());
+                .toArray());
     }
 
     private boolean isPrime(int n) {
@@ -0,0 +1,172 @@
+package org.example.primeapi.algo.Algorithms;
+
+import org.example.primeapi.model.PrimeArray;
+
+import java.util.Arrays;
+
+/**
+ * Utility class for the mod-30 wheel-factorized sieve.
+ *
+ * <p>Each byte covers 30 consecutive integers. Only the 8 residues coprime to 30
+ * ({1, 7, 11, 13, 17, 19, 23, 29}) are stored, one bit each, so multiples of 2, 3 and 5
+ * never occupy memory and are never written. Byte {@code k}, bit {@code i} represents
+ * {@code 30k + RESIDUES[i]}; a set bit marks a prime candidate.
+ *
+ * <p>Composites are crossed off by walking {@code p·m} where {@code m} only takes values
+ * coprime to 30, stepping {@code m} through the wheel gaps {6, 4, 2, 4, 2, 4, 6, 2}.
+ */
+public class WheelSieveUtil {
+
+    public static final int WHEEL = 30;
+
+    public static final int[] RESIDUES = {1, 7, 11, 13, 17, 19, 23, 29};
+
+    /** Distance from residue {@code RESIDUES[i]} to the next residue on the wheel. */
+    static final int[] GAPS = {6, 4, 2, 4, 2, 4, 6, 2};
+
+    /** Bytes per block: 32 KB, i.e. 983,040 integers per block. */
+    public static final int BLOCK_BYTES = 1 << 15;
+
+    /** Bit index for each residue mod 30, or -1 when the residue shares a factor with 30. */
+    static final int[] BIT_OF = new int[WHEEL];
+
+    /** Wheel index of the first coprime residue ≥ r, and how far away it is. */
+    private static final int[] NEXT_INDEX = new int[WHEEL];
+    private static final int[] NEXT_DISTANCE = new int[WHEEL];
+
+    static {
+        Arrays.fill(BIT_OF, -1);
+        for (int i = 0; i < RESIDUES.length; i++) BIT_OF[RESIDUES[i]] = i;
+
+        for (int r = 0; r < WHEEL; r++) {
+            int distance = 0;
+            while (BIT_OF[(r + distance) % WHEEL] < 0) distance++;
+            NEXT_INDEX[r] = BIT_OF[(r + distance) % WHEEL];
+            NEXT_DISTANCE[r] = distance;
+        }
+    }
+
+    /**
+     * Sieves the inclusive range [lowerBound, upperBound] and collects every prime in it.
+     *
+     * @param lowerBound inclusive lower bound
+     * @param upperBound inclusive upper bound
+     * @param basePrimes primes ≤ √upperBound in ascending order (2, 3 and 5 are ignored)
+     * @return ascending primes in range
+     */
+    public static PrimeArray sieveRange(int lowerBound, int upperBound, int[] basePrimes) {
+        if (upperBound < 2 || lowerBound > upperBound) return PrimeArray.empty();
+
+        PrimeArray.Builder confirmedPrimes = PrimeArray.builder();
+        for (int smallPrime : new int[]{2, 3, 5}) {
+            if (smallPrime >= lowerBound && smallPrime <= upperBound) confirmedPrimes.add(smallPrime);
+        }
+
+        byte[] block = new byte[BLOCK_BYTES];
+        long lastByte = upperBound / WHEEL;
+
+        for (long firstByte = Math.max(0, lowerBound) / WHEEL; firstByte <= lastByte; firstByte += BLOCK_BYTES) {
+            int bytes = (int) Math.min(BLOCK_BYTES, lastByte - firstByte + 1);
+            sieveBlock(block, firstByte, bytes, basePrimes);
+            collectBlock(block, firstByte, bytes, lowerBound, upperBound, confirmedPrimes);
+        }
+
+        return confirmedPrimes.build();
+    }
+
+    /**
+     * Counts the primes in the inclusive range [lowerBound, upperBound] without collecting them.
+     * Memory use is one block regardless of range size.
+     */
+    public static int countRange(int lowerBound, int upperBound, int[] basePrimes) {
+        if (upperBound < 2 || lowerBound > upperBound) return 0;
+
+        int count = 0;
+        for (int smallPrime : new int[]{2, 3, 5}) {
+            if (smallPrime >= lowerBound && smallPrime <= upperBound) count++;
+        }
+
+        byte[] block = new byte[BLOCK_BYTES];
+        long lastByte = upperBound / WHEEL;
+
+        for (long firstByte = Math.max(0, lowerBound) / WHEEL; firstByte <= lastByte; firstByte += BLOCK_BYTES) {
+            int bytes = (int) Math.min(BLOCK_BYTES, lastByte - firstByte + 1);
+            sieveBlock(block, firstByte, bytes, basePrimes);
+            count += countBlock(block, firstByte, bytes, lowerBound, upperBound);
+        }
+
+        return count;
+    }
+
+    /**
+     * Resets the block and clears the bit of every wheel composite in
+     * [30·firstByte, 30·(firstByte + bytes)).
+     *
+     * @param block     reusable byte array of at least {@code bytes} entries
+     * @param firstByte wheel byte index represented by {@code block[0]}
+     * @param bytes     number of wheel bytes in this block
+     * @param basePrimes primes ≤ √(30·(firstByte + bytes)) in ascending order
+     */
+    public static void sieveBlock(byte[] block, long firstByte, int bytes, int[] basePrimes) {
+        Arrays.fill(block, 0, bytes, (byte) 0xFF);
+        long blockStart = firstByte * WHEEL;
+        long blockEnd = blockStart + (long) bytes * WHEEL;
+
+        for (int basePrime : basePrimes) {
+            if (basePrime < 7) continue;
+            if ((long) basePrime * basePrime >= blockEnd) break;
+
+            long multiplier = Math.max(basePrime, (blockStart + basePrime - 1) / basePrime);
+            int residue = (int) (multiplier % WHEEL);
+            multiplier += NEXT_DISTANCE[residue];
+            int wheelIndex = NEXT_INDEX[residue];
+
+            for (long multiple = basePrime * multiplier; multiple < blockEnd; multiple = basePrime * multiplier) {
+                long offset = multiple - blockStart;
+                block[(int) (offset / WHEEL)] &= (byte) ~(1 << BIT_OF[(int) (multiple % WHEEL)]);
+                multiplier += GAPS[wheelIndex];
+                wheelIndex = (wheelIndex + 1) & 7;
+            }
+        }
+
+        if (firstByte == 0) block[0] &= (byte) ~1; // 1 is not prime
+    }
+
+    /**
+     * Appends the surviving candidates of a sieved block that fall inside [lowerBound, upperBound].
+     */
+    public static void collectBlock(byte[] block, long firstByte, int bytes, int lowerBound, int upperBound,
+                                    PrimeArray.Builder confirmedPrimes) {
+        for (int i = 0; i < bytes; i++) {
+            int bits = block[i] & 0xFF;
+            long base = (firstByte + i) * WHEEL;
+            while (bits != 0) {
+                long candidate = base + RESIDUES[Integer.numberOfTrailingZeros(bits)];
+                if (candidate >= lowerBound && candidate <= upperBound) confirmedPrimes.add((int) candidate);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Number of surviving candidates of a sieved block inside [lowerBound, upperBound]. Bytes wholly inside the
+     * range are tallied with {@code Integer.bitCount}; only the edge bytes are checked bit by bit.
+     */
+    public static int countBlock(byte[] block, long firstByte, int bytes, int lowerBound, int upperBound) {
+        int count = 0;
+        for (int i = 0; i < bytes; i++) {
+            int bits = block[i] & 0xFF;
+            long base = (firstByte + i) * WHEEL;
+            if (base + 1 >= lowerBound && base + WHEEL - 1 <= upperBound) {
+                count += Integer.bitCount(bits);
+                continue;
+            }
+            while (bits != 0) {
+                long candidate = base + RESIDUES[Integer.numberOfTrailingZeros(bits)];
+                if (candidate >= lowerBound && candidate <= upperBound) count++;
+                bits &= bits - 1;
+            }
+        }
+        return count;
+    }
+}
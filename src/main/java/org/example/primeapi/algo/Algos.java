@@ -3,7 +3,7 @@ package org.example.primeapi.algo;
 import java.util.Optional;
 
 public enum Algos {
-    TRIAL, SIEVE, ATKIN, MILLER;
+    TRIAL, SIEVE, ATKIN, MILLER, BITSIEVE, WHEEL30, TABLE, MILLER64;
 
     public static Optional<Algos> from(String value) {
         try {
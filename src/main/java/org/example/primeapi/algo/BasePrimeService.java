@@ -1,19 +1,19 @@
 package org.example.primeapi.algo;
 
 import org.example.primeapi.algo.Algorithms.AtkinUtil;
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
+import org.example.primeapi.model.PrimeArray;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 
 @Service
 public class BasePrimeService {
 
     @Cacheable(value = "basePrimes", key = "#limit")
-    public List<Integer> generateSieveBasePrimes(int limit) {
+    public PrimeArray generateSieveBasePrimes(int limit) {
         boolean[] isPrimeCandidate = new boolean[limit + 1];
         Arrays.fill(isPrimeCandidate, true);
 
@@ -24,16 +24,16 @@ public class BasePrimeService {
             }
         }
 
-        List<Integer> confirmedPrimes = new ArrayList<>();
+        PrimeArray.Builder confirmedPrimes = PrimeArray.builder();
         for (int value = 2; value <= limit; value++) {
             if (isPrimeCandidate[value]) confirmedPrimes.add(value);
         }
 
-        return confirmedPrimes;
+        return confirmedPrimes.build();
     }
 
     @Cacheable(value = "basePrimes", key = "#end")
-    public List<Integer> generateAtkinBasePrimes(int start, int end) {
+    public PrimeArray generateAtkinBasePrimes(int start, int end) {
         boolean[] isPrimeCandidate = new boolean[end + 1];
         int sqrtLimit = (int) Math.sqrt(end);
 
@@ -43,5 +43,22 @@ public class BasePrimeService {
         return AtkinUtil.collectConfirmedPrimes(isPrimeCandidate, start, end);
     }
 
+    /**
+     * Odd-only composite bitmap for [0, limit), laid out like a {@link BitSieveUtil} block starting at 1:
+     * bit {@code i} stands for {@code 2i + 1} and is set when that number is not prime. Even numbers are not
+     * stored. {@code limit / 16} bytes, so the default 2²⁵ costs 2 MB.
+     */
+    @Cacheable(value = "basePrimes", key = "'bitmap-' + #limit")
+    public long[] generateOddCompositeBitmap(int limit) {
+        int bits = limit >>> 1;
+        long[] bitmap = new long[(bits + 63) >>> 6];
+        if (bits == 0) return bitmap;
+
+        int[] basePrimes = generateSieveBasePrimes((int) Math.sqrt(limit)).toIntArray();
+        BitSieveUtil.sieveBlock(bitmap, 1, bits, basePrimes);
+        bitmap[0] |= 1L; // 1 is neither prime nor marked by the sieve
+        return bitmap;
+    }
+
 
 }
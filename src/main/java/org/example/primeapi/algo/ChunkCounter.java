@@ -0,0 +1,10 @@
+package org.example.primeapi.algo;
+
+/**
+ * Counts the primes of one chunk [start, end] for {@link AbstractPrimeAlgorithm#countThreaded}.
+ * The count-only counterpart of {@link ChunkProcessor}: no prime list is ever built.
+ */
+@FunctionalInterface
+public interface ChunkCounter {
+    int count(int start, int end);
+}
@@ -0,0 +1,12 @@
+package org.example.primeapi.algo;
+
+import org.example.primeapi.model.PrimeArray;
+
+/**
+ * Computes the primes of one chunk [start, end] for {@link AbstractPrimeAlgorithm#runThreaded}.
+ * Takes primitive bounds so chunk dispatch never boxes.
+ */
+@FunctionalInterface
+public interface ChunkProcessor {
+    PrimeArray process(int start, int end);
+}
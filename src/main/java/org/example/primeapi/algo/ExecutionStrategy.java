@@ -0,0 +1,17 @@
+package org.example.primeapi.algo;
+
+/**
+ * How {@link AbstractPrimeAlgorithm#runThreaded} spreads a range across workers.
+ *
+ * <ul>
+ *   <li>{@link #CHUNKED} splits the range into exactly {@code threads} equal chunks on the shared compute pool.
+ *       Best when cost per number is roughly flat, as with the sieves.</li>
+ *   <li>{@link #FORK_JOIN} recursively splits the range into many small leaves on a work-stealing pool, so
+ *       idle workers pick up the expensive high end of the range. Best when cost per number grows with n,
+ *       as with trial division and Miller-Rabin.</li>
+ * </ul>
+ */
+public enum ExecutionStrategy {
+    CHUNKED,
+    FORK_JOIN
+}
@@ -0,0 +1,10 @@
+package org.example.primeapi.algo;
+
+/**
+ * Counts the primes of one chunk [start, end] for {@link AbstractPrimeAlgorithm#countThreadedLong}.
+ * The 64-bit counterpart of {@link ChunkCounter}.
+ */
+@FunctionalInterface
+public interface LongChunkCounter {
+    long count(long start, long end);
+}
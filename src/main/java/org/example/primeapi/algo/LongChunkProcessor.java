@@ -0,0 +1,12 @@
+package org.example.primeapi.algo;
+
+import org.example.primeapi.model.LongPrimeArray;
+
+/**
+ * Computes the primes of one chunk [start, end] for {@link AbstractPrimeAlgorithm#runThreadedLong}.
+ * The 64-bit counterpart of {@link ChunkProcessor}, for ranges beyond {@code Integer.MAX_VALUE}.
+ */
+@FunctionalInterface
+public interface LongChunkProcessor {
+    LongPrimeArray process(long start, long end);
+}
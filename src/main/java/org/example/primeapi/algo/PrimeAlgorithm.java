@@ -1,8 +1,26 @@
 package org.example.primeapi.algo;
 
-import java.util.List;
+import org.example.primeapi.model.PrimeArray;
 
 public interface PrimeAlgorithm {
     String name();
-    List<Integer> generate(int upperLimit, int threads);
-}
\ No newline at end of file
+    PrimeArray generate(int upperLimit, int threads);
+
+    /**
+     * Number of primes ≤ {@code upperLimit}. Defaults to generating the list and taking its size;
+     * sieves override this to tally survivors per block without building any list.
+     */
+    default int count(int upperLimit, int threads) {
+        return generate(upperLimit, threads).size();
+    }
+
+    /**
+     * Primes in the inclusive window [{@code from}, {@code to}]. Defaults to generating everything ≤ {@code to}
+     * and slicing off the part below {@code from}; the segmented sieves override this to sieve only the window,
+     * using base primes ≤ √to, so a narrow window near 1e9 costs about as much as its width.
+     */
+    default PrimeArray generateRange(int from, int to, int threads) {
+        PrimeArray primes = generate(to, threads);
+        return primes.slice(primes.countUpTo(from - 1), primes.size());
+    }
+}
@@ -1,18 +1,49 @@
 package org.example.primeapi.config;
 
 
+import org.example.primeapi.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
+/**
+ * Registers the application caches, each bounded by an estimated memory budget in bytes.
+ * Least recently used entries are evicted once a cache exceeds its budget.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${CACHE_PRIMES_MAX_BYTES:268435456}")
+    private long primesMaxBytes;
+
+    @Value("${CACHE_BASEPRIMES_MAX_BYTES:16777216}")
+    private long basePrimesMaxBytes;
+
+    @Value("${CACHE_PRIMECOUNTS_MAX_BYTES:1048576}")
+    private long primeCountsMaxBytes;
+
+    @Value("${CACHE_DOCS_MAX_BYTES:8388608}")
+    private long docsMaxBytes;
+
+    @Value("${CACHE_RESPONSES_MAX_BYTES:134217728}")
+    private long responsesMaxBytes;
+
     @Bean
     public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("basePrimes","primes","docs");
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new BoundedCache("basePrimes", basePrimesMaxBytes),
+                new BoundedCache("primes", primesMaxBytes),
+                new BoundedCache("primeCounts", primeCountsMaxBytes),
+                new BoundedCache("docs", docsMaxBytes),
+                new BoundedCache("responses", responsesMaxBytes)
+        ));
+        return cacheManager;
     }
-}
\ No newline at end of file
+}
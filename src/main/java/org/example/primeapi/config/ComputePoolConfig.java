@@ -0,0 +1,28 @@
+package org.example.primeapi.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.primeapi.util.ThreadPoolManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sizes the shared compute pool at startup and shuts it down cleanly when the context closes.
+ * {@code COMPUTE_THREADS} defaults to the number of available cores.
+ */
+@Configuration
+public class ComputePoolConfig {
+
+    @Value("${COMPUTE_THREADS:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int computeThreads;
+
+    @PostConstruct
+    public void configure() {
+        ThreadPoolManager.configureComputePool(computeThreads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ThreadPoolManager.shutdownComputePool();
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.primeapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.primeapi.model.APIResponse;
+import org.example.primeapi.model.LongPrimeArray;
+import org.example.primeapi.model.PrimeArray;
+import org.example.primeapi.model.PrimePayload;
+import org.example.primeapi.util.PrimeDeltaCodec;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes an {@link APIResponse} as {@code application/x-prime-delta}: the prime list goes in the body via
+ * {@link PrimeDeltaCodec} and the rest of the {@link PrimePayload} goes in {@code X-Prime-*} response headers.
+ *
+ * <p>Error responses carry no primes, so they are written as plain JSON with a JSON content type. That keeps
+ * errors readable for clients that asked only for the binary format.
+ */
+public class PrimeDeltaMessageConverter extends AbstractHttpMessageConverter<APIResponse> {
+
+    public static final MediaType PRIME_DELTA = MediaType.parseMediaType(PrimeDeltaCodec.MEDIA_TYPE);
+
+    private final ObjectMapper objectMapper;
+
+    public PrimeDeltaMessageConverter(ObjectMapper objectMapper) {
+        super(PRIME_DELTA);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return APIResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected APIResponse readInternal(Class<? extends APIResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Prime delta format is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(APIResponse response, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        PrimePayload payload = response.getData();
+
+        if (payload == null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            objectMapper.writeValue(outputMessage.getBody(), response);
+            return;
+        }
+
+        headers.set("X-Prime-Algorithm", payload.getAlgorithm());
+        if (payload.getFrom() != null) headers.set("X-Prime-From", String.valueOf(payload.getFrom()));
+        headers.set("X-Prime-Limit", String.valueOf(payload.getLimit()));
+        headers.set("X-Prime-Threads", String.valueOf(payload.getThreads()));
+        headers.set("X-Prime-Total", String.valueOf(payload.getTotal()));
+        headers.set("X-Prime-Duration-Ms", String.valueOf(payload.getDurationMs()));
+        if (payload.getNextCursor() != null) headers.set("X-Prime-Next-Cursor", payload.getNextCursor());
+
+        // Windows beyond Integer.MAX_VALUE carry 64-bit primes; the wire layout is the same
+        if (payload.getPrimes() instanceof LongPrimeArray widePrimes) {
+            PrimeDeltaCodec.encode(widePrimes, outputMessage.getBody());
+        } else {
+            PrimeDeltaCodec.encode(asPrimeArray(payload.getPrimes()), outputMessage.getBody());
+        }
+    }
+
+    private static PrimeArray asPrimeArray(List<? extends Number> primes) {
+        if (primes == null) return PrimeArray.empty();
+        if (primes instanceof PrimeArray primeArray) return primeArray;
+        return PrimeArray.wrap(primes.stream().mapToInt(Number::intValue).toArray());
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.primeapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the extra response formats. {@link PrimeDeltaMessageConverter} is appended after the default
+ * converters, so JSON and XML negotiation is unchanged and it is only picked when a client asks for
+ * {@code application/x-prime-delta}.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PrimeDeltaMessageConverter(objectMapper));
+    }
+}
@@ -13,27 +13,57 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.primeapi.algo.Algos;
 
 import org.example.primeapi.model.APIResponse;
+import org.example.primeapi.model.CachedResponse;
 import org.example.primeapi.model.ErrorPayload;
+import org.example.primeapi.model.CacheStats;
+import org.example.primeapi.model.CoalescingStats;
+import org.example.primeapi.model.GateStats;
+import org.example.primeapi.model.LongPrimeArray;
+import org.example.primeapi.model.PoolStats;
+import org.example.primeapi.model.PrimalityPayload;
+import org.example.primeapi.model.PrimeArray;
+import org.example.primeapi.model.PrimePage;
 import org.example.primeapi.model.PrimePayload;
+import org.example.primeapi.model.WarmUpStats;
+import org.example.primeapi.service.ComputeGate;
+import org.example.primeapi.service.PrimalityService;
 import org.example.primeapi.service.PrimeService;
+import org.example.primeapi.service.PrimeStreamer;
+import org.example.primeapi.service.ResponseCache;
+import org.example.primeapi.service.WarmUpService;
+import org.example.primeapi.util.BoundedCache;
+import org.example.primeapi.util.ETags;
 import org.example.primeapi.util.ErrorResponseBuilder;
+import org.example.primeapi.util.PageCursor;
+import org.example.primeapi.util.PrimeDeltaCodec;
+import org.example.primeapi.util.ThreadPoolManager;
 import org.example.primeapi.view.HtmlHelper;
 import org.example.primeapi.view.LandingPageBuilder;
 import org.example.primeapi.view.PrimeRequestLog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.view.RedirectView;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.Cache;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RestController
@@ -46,6 +76,27 @@ public class PrimeController {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private ComputeGate computeGate;
+
+    @Autowired
+    private PrimeStreamer primeStreamer;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private WarmUpService warmUpService;
+
+    @Autowired
+    private PrimalityService primalityService;
+
+    @Value("${PRIMES_CACHE_MAX_AGE:86400}")
+    private long primesMaxAgeSeconds;
+
+    @Value("${PRIMALITY_MAX_BATCH:1000000}")
+    private int primalityMaxBatch;
+
     @Tag(name = "Prime API", description = "Endpoints for prime number generation and benchmarking")
     @Operation(
             summary = "Generate prime numbers",
@@ -53,12 +104,24 @@ public class PrimeController {
         Returns a list of prime numbers using the specified algorithm.
         Supports trial division, sieve of Eratosthenes, and segmented sieve.
         Results include count and duration in milliseconds.
+        Pass from (and optionally to, an alias for limit) to get only the primes in [from, limit]; the sieves then
+        sieve just that window with base primes up to √limit, so a narrow window near 1e9 takes about a millisecond.
+        Pass pageSize (and then each response's nextCursor as cursor) to walk large ranges page by page;
+        ranges wider than 100,000,000 are always paged.
+        Windows (from given) may end above MAXLIMIT and Integer.MAX_VALUE, up to MAX_LONG_LIMIT (1e12 by default).
+        Such windows are sieved with the 64-bit bit-packed kernel whatever the algorithm, must span at most
+        100,000,000 numbers and are not paged; full lists still stop at MAXLIMIT.
+        Send Accept: application/x-prime-delta for a compact binary body of varint-coded prime gaps
+        (about one byte per prime); the other fields then come back as X-Prime-* headers.
+        With useCache=true the serialized body is cached per query and content type (gzipped when the client
+        accepts it), so repeat requests skip serialization; X-Cache reports HIT or MISS.
         """,
             tags = { "Prime API" }
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successful prime generation", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = PrimePayload.class))
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = PrimePayload.class)),
+                    @Content(mediaType = PrimeDeltaCodec.MEDIA_TYPE, schema = @Schema(type = "string", format = "binary"))
             }),
             @ApiResponse(responseCode = "400", description = "Bad request due to invalid parameters or unsupported algorithm", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorPayload.class))
@@ -73,12 +136,18 @@ public class PrimeController {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorPayload.class))
             })
     })
-    @GetMapping(path="/api/primes", produces = { "application/json", "application/xml" })
-    public ResponseEntity<APIResponse> getPrimes(
-            @Parameter(description = "Upper bound for prime generation (must be ≥ 0)", required = true)
-            @RequestParam int limit,
+    @GetMapping(path="/api/primes", produces = { "application/json", "application/xml", PrimeDeltaCodec.MEDIA_TYPE })
+    public ResponseEntity<?> getPrimes(
+            @Parameter(description = "Upper bound for prime generation (must be ≥ 0). Required unless `to` is given")
+            @RequestParam(required = false) Long limit,
 
-            @Parameter(description = "Algorithm to use: trial, sieve, atkin, miller", example = "sieve")
+            @Parameter(description = "Inclusive lower bound (0 to limit). Only primes ≥ from are returned", example = "999000000")
+            @RequestParam(required = false) Long from,
+
+            @Parameter(description = "Alias for limit, for use with from", example = "1000000000")
+            @RequestParam(required = false) Long to,
+
+            @Parameter(description = "Algorithm to use: trial, sieve, atkin, miller, bitsieve, wheel30, table, miller64", example = "sieve")
             @RequestParam(defaultValue = "trial") String algorithm,
 
             @Parameter(description = "Number of threads to use (must be ≥ 1)", example = "4")
@@ -87,10 +156,291 @@ public class PrimeController {
             @Parameter(description = "Whether to use cached results if available", example = "true")
             @RequestParam(defaultValue = "false") boolean useCache,
 
+            @Parameter(description = "Opaque cursor from a previous page's nextCursor")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Primes per page (1 to 1,000,000). Enables paging; limits above 100,000,000 always page", example = "100000")
+            @RequestParam(required = false) Integer pageSize,
+
+            HttpServletRequest request
+
+    ) throws MissingServletRequestParameterException {
+        if (limit != null && to != null && !limit.equals(to)) {
+            ErrorPayload error = ErrorResponseBuilder.badRequest("Pass either limit or to, not both", request);
+            return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+        }
+        if (limit == null && to == null) {
+            throw new MissingServletRequestParameterException("limit", "long");
+        }
+        long upperLimit = limit != null ? limit : to;
+        log.info("Algorithm '{}' requested for limit {} from {} with {} thread(s)", algorithm, upperLimit,
+                from == null ? 2 : from, threads);
+
+        if (upperLimit < 0 || threads < 1) {
+            ErrorPayload error = ErrorResponseBuilder.badRequest("Limit must be non-negative and threads must be >= 1", request);
+            return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+        }
+
+        if (from != null && (from < 0 || from > upperLimit)) {
+            ErrorPayload error = ErrorResponseBuilder.badRequest("from must be between 0 and limit", request);
+            return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+        }
+
+        if (!Algos.isValidAlgo(algorithm)) {
+            ErrorPayload error = ErrorResponseBuilder.badRequest("Unsupported algorithm: " + algorithm, request);
+            return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+        }
+
+        if (upperLimit > primeService.getMaxLimit()) {
+            if (from != null) {
+                return longRangePrimes(algorithm, Math.max(2, from), upperLimit, threads, useCache,
+                        cursor != null || pageSize != null, request);
+            }
+            if (upperLimit > Integer.MAX_VALUE) {
+                ErrorPayload error = ErrorResponseBuilder.badRequest("Full lists stop at MAXLIMIT (" + primeService.getMaxLimit()
+                        + "); pass from for a window, or use /api/primes/count or /api/primes/stream", request);
+                return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+            }
+        }
+
+        return intRangePrimes(algorithm, from, (int) upperLimit, threads, useCache, cursor, pageSize, request);
+    }
+
+    /**
+     * Full lists, windows and pages with an upper bound that fits in an {@code int}.
+     */
+    private ResponseEntity<?> intRangePrimes(String algorithm, Long from, int upperLimit, int threads, boolean useCache,
+                                             String cursor, Integer pageSize, HttpServletRequest request) {
+        // from ≤ 2 selects every prime anyway, so such queries share the full-list caches
+        Integer lowerBound = from != null && from > 2 ? from.intValue() : null;
+        int span = lowerBound == null ? upperLimit : upperLimit - lowerBound;
+
+        boolean paged = cursor != null || pageSize != null || span > PrimeService.PAGING_THRESHOLD;
+        int size = pageSize == null ? PrimeService.DEFAULT_PAGE_SIZE : pageSize;
+        int start = lowerBound == null ? 2 : lowerBound;
+        if (paged) {
+            if (size < 1 || size > PrimeService.MAX_PAGE_SIZE) {
+                ErrorPayload error = ErrorResponseBuilder.badRequest(
+                        "pageSize must be between 1 and " + PrimeService.MAX_PAGE_SIZE, request);
+                return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+            }
+            try {
+                if (cursor != null) start = PageCursor.decode(cursor, lowerBound, upperLimit);
+            } catch (IllegalArgumentException e) {
+                ErrorPayload error = ErrorResponseBuilder.badRequest(e.getMessage(), request);
+                return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+            }
+        }
+
+        // The body is a pure function of the query and its representation, so a client holding the same
+        // ETag gets a 304 before anything is computed or serialized.
+        MediaType type = responseCache.negotiate(request);
+        boolean gzip = useCache && !paged && ResponseCache.acceptsGzip(request);
+        if (type == null) {
+            // Nothing acceptable to produce, so answer 406 before any primes are computed
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+
+        String etag = ETags.ofQuery(algorithm, upperLimit, threads, lowerBound == null ? "" : lowerBound,
+                paged ? start : "", paged ? size : "", type, gzip ? "gzip" : "identity");
+        if (new ServletWebRequest(request).checkNotModified(etag)) {
+            return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build(), etag);
+        }
+
+        if (paged) {
+            return withValidators(primePage(algorithm, lowerBound, upperLimit, threads, useCache, start, size), etag);
+        }
+
+        if (useCache && lowerBound == null) warmUpService.recordQuery(algorithm, upperLimit, threads);
+        if (useCache) {
+            String key = algorithm + ":" + (lowerBound == null ? "" : lowerBound + "-") + upperLimit + ":" + threads;
+            return withValidators(responseCache.serve(key, type, gzip,
+                    () -> computePrimes(algorithm, lowerBound, upperLimit, threads, true)), etag);
+        }
+
+        return withValidators(ResponseEntity.ok(computePrimes(algorithm, lowerBound, upperLimit, threads, false)), etag);
+    }
+
+    /**
+     * Windows of {@code /api/primes} that end above {@code MAXLIMIT}. They are sieved on 64-bit bounds by
+     * {@link PrimeService#findPrimesInLongRange}, so the only limits are {@code MAX_LONG_LIMIT} and the width,
+     * which must stay within {@link PrimeService#PAGING_THRESHOLD} as these windows are never paged.
+     */
+    private ResponseEntity<?> longRangePrimes(String algorithm, long from, long to, int threads, boolean useCache,
+                                              boolean pagingRequested, HttpServletRequest request) {
+        if (pagingRequested || to - from >= PrimeService.PAGING_THRESHOLD) {
+            ErrorPayload error = ErrorResponseBuilder.badRequest("Windows above MAXLIMIT (" + primeService.getMaxLimit()
+                    + ") are not paged and must span at most " + PrimeService.PAGING_THRESHOLD + " numbers", request);
+            return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+        }
+
+        MediaType type = responseCache.negotiate(request);
+        boolean gzip = useCache && ResponseCache.acceptsGzip(request);
+        if (type == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+
+        String etag = ETags.ofQuery(algorithm, to, threads, from, "", "", type, gzip ? "gzip" : "identity");
+        if (new ServletWebRequest(request).checkNotModified(etag)) {
+            return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build(), etag);
+        }
+
+        if (useCache) {
+            String key = algorithm + ":" + from + "-" + to + ":" + threads;
+            return withValidators(responseCache.serve(key, type, gzip,
+                    () -> computeLongRange(algorithm, from, to, threads, true)), etag);
+        }
+
+        return withValidators(ResponseEntity.ok(computeLongRange(algorithm, from, to, threads, false)), etag);
+    }
+
+    private APIResponse computeLongRange(String algorithm, long from, long to, int threads, boolean useCache) {
+        LongPrimeArray primes = primeService.findPrimesInLongRange(from, to, threads, useCache);
+
+        PrimePayload payload = new PrimePayload(
+                algorithm, to, threads, primes, primes.size(), primeService.getDurationMs(), null, from
+        );
+        PrimeRequestLog.log(payload);
+        return APIResponse.success(payload, 200);
+    }
+
+    /**
+     * Adds the ETag and public Cache-Control headers to a deterministic {@code /api/primes} response.
+     * Only successful and 304 responses get them, so errors are never cached by clients or proxies.
+     */
+    private <T> ResponseEntity<T> withValidators(ResponseEntity<T> entity, String etag) {
+        return ResponseEntity.status(entity.getStatusCode())
+                .headers(entity.getHeaders())
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(primesMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .body(entity.getBody());
+    }
+
+    /**
+     * Computes the full list for {@code limit}, or only the window [{@code from}, {@code limit}] when
+     * {@code from} is given.
+     */
+    private APIResponse computePrimes(String algorithm, Integer from, int limit, int threads, boolean useCache) {
+        long start = System.nanoTime();
+        PrimeArray primes = from == null
+                ? primeService.findPrimes(algorithm.toLowerCase(), limit, threads, useCache)
+                : primeService.findPrimesInRange(algorithm.toLowerCase(), from, limit, threads, useCache);
+        warmUpService.recordLatency((System.nanoTime() - start) / 1_000_000);
+        if (useCache && from == null) warmUpService.recordServed(algorithm, limit, threads, primes);
+
+        PrimePayload payload = new PrimePayload(
+                algorithm, limit, threads, primes, primes.size(), primeService.getDurationMs(), null,
+                from == null ? null : from.longValue()
+        );
+        PrimeRequestLog.log(payload);
+        return APIResponse.success(payload, 200);
+    }
+
+
+    /**
+     * Serves one page of {@code /api/primes}. Pages are sieved directly from their start value, so the
+     * algorithm and thread parameters are echoed back but do not change how a page is computed.
+     */
+    private ResponseEntity<APIResponse> primePage(String algorithm, Integer from, int limit, int threads,
+                                                  boolean useCache, int start, int size) {
+        PrimePage page = primeService.findPrimePage(algorithm, limit, threads, start, size, useCache);
+        PrimeArray primes = page.getPrimes();
+
+        PrimePayload payload = new PrimePayload(
+                algorithm, limit, threads, primes, primes.size(), primeService.getDurationMs(),
+                page.hasMore() ? PageCursor.encode(page.getNextStart(), from, limit) : null, from == null ? null : from.longValue()
+        );
+        PrimeRequestLog.log(payload);
+        return ResponseEntity.ok(APIResponse.success(payload, 200));
+    }
+
+    @Tag(name = "Prime API", description = "Endpoints for prime number generation and benchmarking")
+    @Operation(
+            summary = "Stream prime numbers as NDJSON",
+            description = """
+        Streams primes ≤ limit as newline-delimited JSON while they are sieved. Each line is one segment of about
+        1M numbers: {"start":a,"end":b,"primes":[...]}. The last line is a summary with algorithm, limit, threads,
+        total and durationMs. Up to `threads` segments are sieved ahead, so server memory stays bounded and the
+        first line arrives within milliseconds even for limit=1e9. Segments always use the bit-packed sieve.
+        Pass from to start the stream there. Above MAXLIMIT the stream runs on 64-bit bounds, up to
+        MAX_LONG_LIMIT (1e12 by default).
+        """,
+            tags = { "Prime API" }
+    )
+    @GetMapping(path = "/api/primes/stream")
+    public ResponseEntity<StreamingResponseBody> streamPrimes(
+            @Parameter(description = "Upper bound for prime generation (must be ≥ 0)", required = true)
+            @RequestParam long limit,
+
+            @Parameter(description = "Inclusive lower bound (0 to limit)", example = "4294967000")
+            @RequestParam(required = false) Long from,
+
+            @Parameter(description = "Algorithm to use: trial, sieve, atkin, miller, bitsieve, wheel30, table, miller64", example = "bitsieve")
+            @RequestParam(defaultValue = "bitsieve") String algorithm,
+
+            @Parameter(description = "Segments sieved ahead of the writer (must be ≥ 1)", example = "4")
+            @RequestParam(defaultValue = "1") int threads,
+
+            @Parameter(description = "Whether to stream a stored result if one covers the limit", example = "true")
+            @RequestParam(defaultValue = "false") boolean useCache,
+
             HttpServletRequest request
+    ) {
+        log.info("Stream with '{}' requested for limit {} with {} thread(s)", algorithm, limit, threads);
 
+        // Errors go through GlobalExceptionHandler so they are rendered as a normal JSON APIResponse.
+        if (limit < 0 || threads < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be non-negative and threads must be >= 1");
+        }
+
+        if (from != null && (from < 0 || from > limit)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be between 0 and limit");
+        }
+
+        if (!Algos.isValidAlgo(algorithm)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported algorithm: " + algorithm);
+        }
+
+        boolean skip = limit <= primeService.getMaxLimit()
+                ? primeService.shouldSkip(algorithm, (int) limit, threads)
+                : primeService.shouldSkipLong(limit, threads);
+        StreamingResponseBody body = out -> primeStreamer.writeNdjson(algorithm, from, limit, threads, useCache, skip, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Tag(name = "Prime API", description = "Endpoints for prime number generation and benchmarking")
+    @Operation(
+            summary = "Count prime numbers",
+            description = """
+        Returns how many primes are ≤ limit without returning the primes themselves.
+        The sieves (bitsieve, wheel30, sieve) tally survivors per cache-sized block with Long.bitCount,
+        so memory stays constant however large the limit is. The response omits the primes field.
+        Pass from to count only [from, limit]. Counts with from use the 64-bit bit-packed sieve up to
+        MAX_LONG_LIMIT (1e12 by default), so total may exceed Integer.MAX_VALUE. Counts above MAXLIMIT without
+        from are computed as pi(limit), like /api/primes/pi, whatever the algorithm.
+        """
+    )
+    @GetMapping(path = "/api/primes/count", produces = { "application/json", "application/xml" })
+    public ResponseEntity<APIResponse> countPrimes(
+            @Parameter(description = "Upper bound for prime counting (must be ≥ 0)", required = true)
+            @RequestParam long limit,
+
+            @Parameter(description = "Inclusive lower bound (0 to limit)", example = "4294967000")
+            @RequestParam(required = false) Long from,
+
+            @Parameter(description = "Algorithm to use: trial, sieve, atkin, miller, bitsieve, wheel30, table, miller64", example = "bitsieve")
+            @RequestParam(defaultValue = "bitsieve") String algorithm,
+
+            @Parameter(description = "Number of threads to use (must be ≥ 1)", example = "4")
+            @RequestParam(defaultValue = "1") int threads,
+
+            @Parameter(description = "Whether to use cached results if available", example = "true")
+            @RequestParam(defaultValue = "false") boolean useCache,
+
+            HttpServletRequest request
     ) {
-        log.info("Algorithm '{}' requested for limit {} with {} thread(s)", algorithm, limit, threads);
+        log.info("Count with '{}' requested for limit {} with {} thread(s)", algorithm, limit, threads);
 
         if (limit < 0 || threads < 1) {
             ErrorPayload error = ErrorResponseBuilder.badRequest("Limit must be non-negative and threads must be >= 1", request);
@@ -102,15 +452,117 @@ public class PrimeController {
             return ResponseEntity.status(400).body(APIResponse.error(error, 400));
         }
 
-        List<Integer> primes = primeService.findPrimes(algorithm.toLowerCase(), limit, threads, useCache);
+        if (from != null && (from < 0 || from > limit)) {
+            ErrorPayload error = ErrorResponseBuilder.badRequest("from must be between 0 and limit", request);
+            return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+        }
+
+        long total;
+        if (from == null && limit > primeService.getMaxLimit() && limit <= primeService.getMaxLongLimit()) {
+            // π(limit) in O(limit^¾) instead of sieving every number up to it
+            total = primeService.primePi(limit, useCache);
+        } else if (from != null || limit > primeService.getMaxLimit()) {
+            total = primeService.countPrimesInLongRange(from == null ? 2 : Math.max(2, from), limit, threads, useCache);
+        } else {
+            total = primeService.countPrimes(algorithm.toLowerCase(), (int) limit, threads, useCache);
+        }
 
         PrimePayload payload = new PrimePayload(
-                algorithm, limit, threads, primes, primes.size(), primeService.getDurationMs()
+                algorithm, limit, threads, null, total, primeService.getDurationMs(), null, from
         );
         PrimeRequestLog.log(payload);
         return ResponseEntity.ok(APIResponse.success(payload, 200));
     }
 
+    @Tag(name = "Prime API", description = "Endpoints for prime number generation and benchmarking")
+    @Operation(
+            summary = "Prime-counting function pi(x)",
+            description = """
+        Returns pi(limit), the number of primes ≤ limit, without sieving the range. Uses Lucy_Hedgehog's method:
+        O(limit^3/4) time and O(√limit) memory, so limit=1e12 takes about a second and limit=1e13 a few.
+        limit may go up to PRIME_PI_MAX (1e13 by default). Results are deterministic and cached in
+        primeCounts when useCache=true. The response is a PrimePayload with algorithm "lucy" and no primes field.
+        """,
+            tags = { "Prime API" }
+    )
+    @GetMapping(path = "/api/primes/pi", produces = { "application/json", "application/xml" })
+    public ResponseEntity<APIResponse> primePi(
+            @Parameter(description = "x in pi(x) (0 to PRIME_PI_MAX)", required = true, example = "1000000000000")
+            @RequestParam long limit,
+
+            @Parameter(description = "Whether to use cached results if available", example = "true")
+            @RequestParam(defaultValue = "false") boolean useCache,
+
+            HttpServletRequest request
+    ) {
+        log.info("pi(x) requested for x = {}", limit);
+
+        if (limit < 0 || limit > primeService.getMaxPiLimit()) {
+            String message = "Limit must be between 0 and PRIME_PI_MAX (" + primeService.getMaxPiLimit() + ")";
+            ErrorPayload error = ErrorResponseBuilder.badRequest(message, request);
+            return ResponseEntity.status(400).body(APIResponse.error(error, 400));
+        }
+
+        long total = primeService.primePi(limit, useCache);
+
+        PrimePayload payload = new PrimePayload("lucy", limit, 1, null, total, primeService.getDurationMs());
+        PrimeRequestLog.log(payload);
+        return ResponseEntity.ok(APIResponse.success(payload, 200));
+    }
+
+    @Tag(name = "Prime API", description = "Endpoints for prime number generation and benchmarking")
+    @Operation(
+            summary = "Test a batch of numbers for primality",
+            description = """
+        Takes a JSON array of integers (anywhere in the 64-bit range) and reports which are prime, in request order.
+        Numbers below PRIMALITY_BITMAP_LIMIT (2^25 by default) are looked up in a cached sieve bitmap; larger ones
+        run a deterministic Miller–Rabin test, so every answer is exact. Batches above 8,192 numbers are split
+        across the shared compute pool. At most PRIMALITY_MAX_BATCH (1,000,000) numbers per request.
+        format=booleans (default) returns a boolean array; format=bitmap returns a base64 bitmap, least
+        significant bit first, one bit per number.
+        """,
+            tags = { "Prime API" }
+    )
+    @PostMapping(path = "/api/primes/test", consumes = "application/json",
+            produces = { "application/json", "application/xml" })
+    public ResponseEntity<PrimalityPayload> testPrimes(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Numbers to test",
+                    content = @Content(schema = @Schema(example = "[2, 15, 1000000007, 4294967297]")))
+            @RequestBody long[] numbers,
+
+            @Parameter(description = "Response shape: booleans or bitmap", example = "booleans")
+            @RequestParam(defaultValue = "booleans") String format
+    ) {
+        log.info("Primality test requested for {} number(s) as {}", numbers.length, format);
+
+        boolean bitmap = "bitmap".equalsIgnoreCase(format);
+        if (!bitmap && !"booleans".equalsIgnoreCase(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be booleans or bitmap");
+        }
+
+        if (numbers.length > primalityMaxBatch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + primalityMaxBatch + " numbers can be tested per request");
+        }
+
+        long start = System.nanoTime();
+        boolean[] results = primalityService.testAll(numbers);
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+
+        int primes = 0;
+        for (boolean result : results) {
+            if (result) primes++;
+        }
+
+        PrimalityPayload payload = PrimalityPayload.builder()
+                .count(numbers.length)
+                .primes(primes)
+                .durationMs(durationMs)
+                .results(bitmap ? null : results)
+                .bitmap(bitmap ? PrimalityPayload.toBitmap(results) : null)
+                .build();
+        return ResponseEntity.ok(payload);
+    }
 
     @Hidden
     @GetMapping
@@ -144,12 +596,12 @@ public class PrimeController {
 
     public ResponseEntity<PrimePayload> clearCache(@RequestParam(required = false) String target) {
         Set<String> validCaches = Set.of("primes", "basePrimes");
-        List<Integer> clearedCodes = new ArrayList<>();
+        PrimeArray.Builder clearedCodes = PrimeArray.builder();
 
         if (target == null) {
             primeService.clearPrimeCache();
             primeService.clearBasePrimeCache();
-            clearedCodes.addAll(List.of(1, 2)); // 1 = primes, 2 = basePrimes
+            clearedCodes.add(1).add(2); // 1 = primes, 2 = basePrimes
             log.info("✅ All caches cleared via PrimeService");
         } else {
             switch (target) {
@@ -165,15 +617,78 @@ public class PrimeController {
                 }
                 default -> {
                     log.warn("❌ Invalid cache target: {}", target);
-                    return ResponseEntity.badRequest().body(new PrimePayload("invalid-cache", 0, 0, List.of(), 0, 0));
+                    return ResponseEntity.badRequest().body(new PrimePayload("invalid-cache", 0, 0, PrimeArray.empty(), 0, 0));
                 }
             }
         }
 
-        PrimePayload payload = new PrimePayload("cache-cleared", 0, 0, clearedCodes, 0, 0);
+        PrimePayload payload = new PrimePayload("cache-cleared", 0, 0, clearedCodes.build(), 0, 0);
         return ResponseEntity.ok(payload);
     }
 
+    //----------------Metrics Controller--------------
+
+    @Tag(name = "Metrics", description = "Runtime diagnostics for the prime service")
+    @Operation(
+            summary = "Compute pool statistics",
+            description = "Returns the shared compute pool's size, active worker count, queue depth and completed chunk count.",
+            tags = { "Metrics" }
+    )
+    @GetMapping(path = "/api/metrics/pool", produces = { "application/json", "application/xml" })
+    public ResponseEntity<PoolStats> computePoolStats() {
+        return ResponseEntity.ok(ThreadPoolManager.computePoolStats());
+    }
+
+    @Tag(name = "Metrics", description = "Runtime diagnostics for the prime service")
+    @Operation(
+            summary = "Heavy-request gate statistics",
+            description = "Returns how many heavy prime requests are computing and how many are queued for a permit.",
+            tags = { "Metrics" }
+    )
+    @GetMapping(path = "/api/metrics/gate", produces = { "application/json", "application/xml" })
+    public ResponseEntity<GateStats> computeGateStats() {
+        return ResponseEntity.ok(computeGate.stats());
+    }
+
+    @Tag(name = "Metrics", description = "Runtime diagnostics for the prime service")
+    @Operation(
+            summary = "Request coalescing statistics",
+            description = "Returns how many prime computations ran and how many identical concurrent requests shared one instead.",
+            tags = { "Metrics" }
+    )
+    @GetMapping(path = "/api/metrics/coalescing", produces = { "application/json", "application/xml" })
+    public ResponseEntity<CoalescingStats> coalescingStats() {
+        return ResponseEntity.ok(primeService.coalescingStats());
+    }
+
+    @Tag(name = "Metrics", description = "Runtime diagnostics for the prime service")
+    @Operation(
+            summary = "Cache statistics",
+            description = "Returns entry count, estimated bytes, budget, hits, misses and evictions for each cache and the prefix-sliced result store.",
+            tags = { "Metrics" }
+    )
+    @GetMapping(path = "/api/metrics/cache", produces = { "application/json", "application/xml" })
+    public ResponseEntity<List<CacheStats>> cacheStats() {
+        List<CacheStats> stats = new ArrayList<>(cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(BoundedCache.class::isInstance)
+                .map(cache -> ((BoundedCache) cache).stats())
+                .toList());
+        stats.add(primeService.getResultStore().stats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @Tag(name = "Metrics", description = "Runtime diagnostics for the prime service")
+    @Operation(
+            summary = "Cache warm-up statistics",
+            description = "Returns the traffic-driven warm-up's state, how many frequent queries it has precomputed or skipped, how often it backed off for live traffic, and how many live requests hit a warmed entry.",
+            tags = { "Metrics" }
+    )
+    @GetMapping(path = "/api/metrics/warmup", produces = { "application/json", "application/xml" })
+    public ResponseEntity<WarmUpStats> warmUpStats() {
+        return ResponseEntity.ok(warmUpService.stats());
+    }
+
     //----------------Documentation Controller--------------
 
 
@@ -201,26 +716,40 @@ public class PrimeController {
     )
     @Parameter(name = "filename", description = "Name of the Markdown file to render")
     @GetMapping("/docs/view/{filename}")
-    public ResponseEntity<String> viewMarkdownAsHtml(@PathVariable String filename) {
+    public ResponseEntity<?> viewMarkdownAsHtml(@PathVariable String filename, WebRequest webRequest) {
         if (!HtmlHelper.isValidMarkdownFile(filename)) {
             return ResponseEntity.status(404).body("<h2>File not found: " + filename + "</h2>");
         }
 
         try {
-            String markdown = HtmlHelper.readMarkdown(filename);
-            String html = HtmlHelper.convertMarkdownToHtml(filename, markdown);
-            String sidebar = HtmlHelper.buildSidebar(HtmlHelper.getMarkdownFiles());
-            String fullHtml = HtmlHelper.wrapHtml(sidebar, html, true);
+            // Docs are classpath resources, so a rendered page only changes on redeploy. The page bytes and
+            // their content-hash ETag are kept in the "docs" cache as a CachedResponse, which the cache can size;
+            // a matching If-None-Match gets a 304 without re-rendering.
+            CachedResponse doc = cacheManager.getCache("docs").get(filename, () -> renderDoc(filename));
+            if (webRequest.checkNotModified(doc.getHeaders().getETag())) return null;
 
             return ResponseEntity.ok()
-                    .header("Content-Type", "text/html; charset=UTF-8")
-                    .body(fullHtml);
+                    .headers(doc.getHeaders())
+                    .cacheControl(CacheControl.noCache())
+                    .body(doc.getBody());
 
-        } catch (IOException e) {
+        } catch (Cache.ValueRetrievalException e) {
             return ResponseEntity.status(500).body("<h2>Error reading file: " + filename + "</h2>");
         }
     }
 
+    private static CachedResponse renderDoc(String filename) throws IOException {
+        String markdown = HtmlHelper.readMarkdown(filename);
+        String html = HtmlHelper.convertMarkdownToHtml(filename, markdown);
+        String sidebar = HtmlHelper.buildSidebar(HtmlHelper.getMarkdownFiles());
+        String fullHtml = HtmlHelper.wrapHtml(sidebar, html, true);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8));
+        headers.setETag(ETags.ofContent(fullHtml));
+        return new CachedResponse(headers, fullHtml.getBytes(StandardCharsets.UTF_8), false);
+    }
+
     @Tag(name = "Documentation", description = "Endpoints for viewing Markdown-based documentation")
     @Operation(
             summary = "View recent prime requests as HTML",
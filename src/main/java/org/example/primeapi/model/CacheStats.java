@@ -0,0 +1,52 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Size and hit statistics for one bounded cache")
+@JacksonXmlRootElement(localName = "CacheStats")
+@JsonPropertyOrder({"name", "entries", "estimatedBytes", "maxBytes", "hits", "misses", "evictions"})
+public class CacheStats {
+
+    @Schema(description = "Cache name", example = "primes")
+    @JsonProperty("name")
+    @JacksonXmlProperty(localName = "name")
+    private String name;
+
+    @Schema(description = "Entries currently cached", example = "12")
+    @JsonProperty("entries")
+    @JacksonXmlProperty(localName = "entries")
+    private int entries;
+
+    @Schema(description = "Estimated heap retained by the cached entries", example = "41943040")
+    @JsonProperty("estimatedBytes")
+    @JacksonXmlProperty(localName = "estimatedBytes")
+    private long estimatedBytes;
+
+    @Schema(description = "Memory budget for this cache", example = "268435456")
+    @JsonProperty("maxBytes")
+    @JacksonXmlProperty(localName = "maxBytes")
+    private long maxBytes;
+
+    @Schema(description = "Lookups that found an entry", example = "340")
+    @JsonProperty("hits")
+    @JacksonXmlProperty(localName = "hits")
+    private long hits;
+
+    @Schema(description = "Lookups that found nothing", example = "52")
+    @JsonProperty("misses")
+    @JacksonXmlProperty(localName = "misses")
+    private long misses;
+
+    @Schema(description = "Entries evicted to stay within the budget", example = "7")
+    @JsonProperty("evictions")
+    @JacksonXmlProperty(localName = "evictions")
+    private long evictions;
+}
@@ -0,0 +1,21 @@
+package org.example.primeapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A fully serialized response body plus the headers its converter wrote (content type and any
+ * {@code X-Prime-*} headers). {@code gzipped} bodies are already compressed and must be sent with
+ * {@code Content-Encoding: gzip}.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedResponse {
+
+    private final HttpHeaders headers;
+
+    private final byte[] body;
+
+    private final boolean gzipped;
+}
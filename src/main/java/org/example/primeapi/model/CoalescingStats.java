@@ -0,0 +1,32 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Counts for coalesced identical prime requests")
+@JacksonXmlRootElement(localName = "CoalescingStats")
+@JsonPropertyOrder({"inFlight", "computations", "coalesced"})
+public class CoalescingStats {
+
+    @Schema(description = "Distinct queries currently computing", example = "1")
+    @JsonProperty("inFlight")
+    @JacksonXmlProperty(localName = "inFlight")
+    private int inFlight;
+
+    @Schema(description = "Computations actually run", example = "120")
+    @JsonProperty("computations")
+    @JacksonXmlProperty(localName = "computations")
+    private long computations;
+
+    @Schema(description = "Callers that shared another caller's computation instead of running their own", example = "37")
+    @JsonProperty("coalesced")
+    @JacksonXmlProperty(localName = "coalesced")
+    private long coalesced;
+}
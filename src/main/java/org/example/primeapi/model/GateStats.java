@@ -0,0 +1,37 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Snapshot of the heavy-request admission gate")
+@JacksonXmlRootElement(localName = "GateStats")
+@JsonPropertyOrder({"heavyLimit", "permits", "running", "queued"})
+public class GateStats {
+
+    @Schema(description = "Limits above this value must pass the gate", example = "5000000")
+    @JsonProperty("heavyLimit")
+    @JacksonXmlProperty(localName = "heavyLimit")
+    private int heavyLimit;
+
+    @Schema(description = "Heavy requests allowed to compute at once", example = "4")
+    @JsonProperty("permits")
+    @JacksonXmlProperty(localName = "permits")
+    private int permits;
+
+    @Schema(description = "Heavy requests currently computing", example = "4")
+    @JsonProperty("running")
+    @JacksonXmlProperty(localName = "running")
+    private int running;
+
+    @Schema(description = "Heavy requests waiting for a permit", example = "2")
+    @JsonProperty("queued")
+    @JacksonXmlProperty(localName = "queued")
+    private int queued;
+}
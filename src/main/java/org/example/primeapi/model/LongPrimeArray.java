@@ -0,0 +1,166 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, ascending list of primes backed by a primitive {@code long[]}.
+ *
+ * <p>The 64-bit counterpart of {@link PrimeArray}, used for windows whose upper bound does not fit in an
+ * {@code int}. Base primes for such windows are at most √10¹² and stay in {@code int[]}; only the primes
+ * themselves need eight bytes each, so everything up to {@code Integer.MAX_VALUE} keeps using {@link PrimeArray}.
+ *
+ * <p>Serialized by {@link LongPrimeArraySerializer}, which writes the backing array directly.
+ */
+@JsonSerialize(using = LongPrimeArraySerializer.class)
+public final class LongPrimeArray extends AbstractList<Long> implements RandomAccess {
+
+    private static final LongPrimeArray EMPTY = new LongPrimeArray(new long[0], 0, 0);
+
+    private final long[] values;
+    private final int offset;
+    private final int length;
+
+    private LongPrimeArray(long[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static LongPrimeArray empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a prime array holding a copy of the given values.
+     */
+    public static LongPrimeArray of(long... values) {
+        return values.length == 0 ? EMPTY : new LongPrimeArray(values.clone(), 0, values.length);
+    }
+
+    /**
+     * Wraps the given array without copying. The caller must not modify it afterwards.
+     */
+    public static LongPrimeArray wrap(long[] values) {
+        return values.length == 0 ? EMPTY : new LongPrimeArray(values, 0, values.length);
+    }
+
+    /**
+     * Concatenates already-ordered, disjoint parts into one array, in order. See {@link PrimeArray#concat}.
+     */
+    public static LongPrimeArray concat(List<LongPrimeArray> parts) {
+        if (parts.size() == 1) return parts.get(0);
+
+        int total = 0;
+        for (LongPrimeArray part : parts) total = Math.addExact(total, part.length);
+
+        long[] merged = new long[total];
+        int position = 0;
+        for (LongPrimeArray part : parts) {
+            System.arraycopy(part.values, part.offset, merged, position, part.length);
+            position += part.length;
+        }
+        return wrap(merged);
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public long getLong(int index) {
+        return values[offset + Objects.checkIndex(index, length)];
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    /**
+     * Zero-copy view of elements {@code [fromIndex, toIndex)}.
+     */
+    public LongPrimeArray slice(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        if (fromIndex == 0 && toIndex == length) return this;
+        if (fromIndex == toIndex) return EMPTY;
+        return new LongPrimeArray(values, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public LongPrimeArray subList(int fromIndex, int toIndex) {
+        return slice(fromIndex, toIndex);
+    }
+
+    /**
+     * Backing array, exposed to the serializer and codec. The view covers {@code [offset(), offset() + size())}.
+     * Never modify it.
+     */
+    public long[] backingArray() {
+        return values;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof LongPrimeArray primeArray) {
+            return Arrays.equals(values, offset, offset + length,
+                    primeArray.values, primeArray.offset, primeArray.offset + primeArray.length);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = offset, end = offset + length; i < end; i++) hash = 31 * hash + Long.hashCode(values[i]);
+        return hash;
+    }
+
+    /**
+     * Growable primitive buffer used by the 64-bit sieve to collect primes without boxing.
+     */
+    public static final class Builder {
+
+        private long[] buffer;
+        private int size;
+
+        private Builder(int expectedSize) {
+            this.buffer = new long[Math.max(expectedSize, 16)];
+        }
+
+        public Builder add(long value) {
+            if (size == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length + (buffer.length >> 1));
+            buffer[size++] = value;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public LongPrimeArray build() {
+            return wrap(size == buffer.length ? buffer : Arrays.copyOf(buffer, size));
+        }
+    }
+}
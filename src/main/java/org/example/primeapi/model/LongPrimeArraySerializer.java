@@ -0,0 +1,28 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link LongPrimeArray} straight from its backing {@code long[]}, like {@link PrimeArraySerializer}
+ * does for {@code int[]}.
+ */
+public class LongPrimeArraySerializer extends StdSerializer<LongPrimeArray> {
+
+    public LongPrimeArraySerializer() {
+        super(LongPrimeArray.class);
+    }
+
+    @Override
+    public void serialize(LongPrimeArray primes, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeArray(primes.backingArray(), primes.offset(), primes.size());
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, LongPrimeArray primes) {
+        return primes.isEmpty();
+    }
+}
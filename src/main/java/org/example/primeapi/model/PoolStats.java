@@ -0,0 +1,42 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Snapshot of the shared compute pool")
+@JacksonXmlRootElement(localName = "PoolStats")
+@JsonPropertyOrder({"poolSize", "maxPoolSize", "activeCount", "queueDepth", "completedTasks"})
+public class PoolStats {
+
+    @Schema(description = "Worker threads currently alive", example = "4")
+    @JsonProperty("poolSize")
+    @JacksonXmlProperty(localName = "poolSize")
+    private int poolSize;
+
+    @Schema(description = "Upper bound on worker threads", example = "4")
+    @JsonProperty("maxPoolSize")
+    @JacksonXmlProperty(localName = "maxPoolSize")
+    private int maxPoolSize;
+
+    @Schema(description = "Workers currently running a chunk", example = "2")
+    @JsonProperty("activeCount")
+    @JacksonXmlProperty(localName = "activeCount")
+    private int activeCount;
+
+    @Schema(description = "Chunks waiting for a free worker", example = "6")
+    @JsonProperty("queueDepth")
+    @JacksonXmlProperty(localName = "queueDepth")
+    private int queueDepth;
+
+    @Schema(description = "Chunks completed since the pool started", example = "1024")
+    @JsonProperty("completedTasks")
+    @JacksonXmlProperty(localName = "completedTasks")
+    private long completedTasks;
+}
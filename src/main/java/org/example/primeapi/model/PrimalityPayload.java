@@ -0,0 +1,63 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Result of a batched primality check. Exactly one of {@code results} and {@code bitmap} is present,
+ * depending on the requested format.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Primality of each number in a batch, in request order")
+@JacksonXmlRootElement(localName = "PrimalityResponse")
+@JsonPropertyOrder({"count", "primes", "durationMs", "results", "bitmap"})
+public class PrimalityPayload {
+
+    @Schema(description = "Numbers tested", example = "4")
+    @JsonProperty("count")
+    @JacksonXmlProperty(localName = "count")
+    private int count;
+
+    @Schema(description = "How many of them are prime", example = "2")
+    @JsonProperty("primes")
+    @JacksonXmlProperty(localName = "primes")
+    private int primes;
+
+    @Schema(description = "Time taken to test the batch in milliseconds", example = "1")
+    @JsonProperty("durationMs")
+    @JacksonXmlProperty(localName = "durationMs")
+    private long durationMs;
+
+    @Schema(description = "One boolean per number, in request order; present with format=booleans",
+            example = "[true, false, true, false]")
+    @JsonProperty("results")
+    @JacksonXmlElementWrapper(localName = "results")
+    @JacksonXmlProperty(localName = "prime")
+    private boolean[] results;
+
+    @Schema(description = "Base64 bitmap with format=bitmap: bit k (least significant first) of byte j is set when "
+            + "number 8j + k is prime", example = "BQ==")
+    @JsonProperty("bitmap")
+    @JacksonXmlProperty(localName = "bitmap")
+    private byte[] bitmap;
+
+    /**
+     * Packs one flag per number into bytes, least significant bit first, as described on {@code bitmap}.
+     */
+    public static byte[] toBitmap(boolean[] flags) {
+        byte[] packed = new byte[(flags.length + 7) >>> 3];
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i]) packed[i >>> 3] |= (byte) (1 << (i & 7));
+        }
+        return packed;
+    }
+}
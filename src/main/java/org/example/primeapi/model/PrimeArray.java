@@ -0,0 +1,230 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, ascending list of primes backed by a primitive {@code int[]}.
+ *
+ * <p>This is the result type of every {@link org.example.primeapi.algo.PrimeAlgorithm}. Algorithms and the
+ * service layer use the primitive accessors ({@link #getInt(int)}, {@link #toIntArray()}, {@link #intStream()})
+ * so no {@code Integer} objects are created on the hot path. It still implements {@code List<Integer>} so
+ * existing callers, caches and equality checks keep working; boxing only happens if a caller asks for it.
+ *
+ * <p>An instance may be a zero-copy view of part of a larger array (see {@link #slice(int, int)} and
+ * {@link #upTo(int)}), so a cached result for a large limit can answer any smaller limit without copying.
+ *
+ * <p>Serialized by {@link PrimeArraySerializer}, which writes the backing array directly.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * PrimeArray.Builder builder = PrimeArray.builder();
+ * builder.add(2).add(3).add(5);
+ * PrimeArray primes = builder.build();
+ * }</pre>
+ */
+@JsonSerialize(using = PrimeArraySerializer.class)
+public final class PrimeArray extends AbstractList<Integer> implements RandomAccess {
+
+    private static final PrimeArray EMPTY = new PrimeArray(new int[0], 0, 0);
+
+    private final int[] values;
+    private final int offset;
+    private final int length;
+
+    private PrimeArray(int[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static PrimeArray empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a prime array holding a copy of the given values.
+     */
+    public static PrimeArray of(int... values) {
+        return values.length == 0 ? EMPTY : new PrimeArray(values.clone(), 0, values.length);
+    }
+
+    /**
+     * Wraps the given array without copying. The caller must not modify it afterwards.
+     */
+    public static PrimeArray wrap(int[] values) {
+        return values.length == 0 ? EMPTY : new PrimeArray(values, 0, values.length);
+    }
+
+    public static PrimeArray fromList(List<Integer> values) {
+        if (values instanceof PrimeArray primeArray) return primeArray;
+        return wrap(values.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Concatenates already-ordered, disjoint parts into one array, in order.
+     *
+     * <p>The output is sized once from the part sizes and filled with one {@code System.arraycopy}
+     * per part, so there is no hashing, sorting or re-growing. Callers must pass parts whose ranges
+     * ascend and do not overlap, as produced by chunked sieving.
+     */
+    public static PrimeArray concat(List<PrimeArray> parts) {
+        if (parts.size() == 1) return parts.get(0);
+
+        int total = 0;
+        for (PrimeArray part : parts) total += part.length;
+
+        int[] merged = new int[total];
+        int position = 0;
+        for (PrimeArray part : parts) {
+            System.arraycopy(part.values, part.offset, merged, position, part.length);
+            position += part.length;
+        }
+        return wrap(merged);
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int getInt(int index) {
+        return values[offset + Objects.checkIndex(index, length)];
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    public IntStream intStream() {
+        return Arrays.stream(values, offset, offset + length);
+    }
+
+    /**
+     * Zero-copy view of elements {@code [fromIndex, toIndex)}.
+     */
+    public PrimeArray slice(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        if (fromIndex == 0 && toIndex == length) return this;
+        if (fromIndex == toIndex) return EMPTY;
+        return new PrimeArray(values, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public PrimeArray subList(int fromIndex, int toIndex) {
+        return slice(fromIndex, toIndex);
+    }
+
+    /**
+     * Number of elements ≤ {@code limit}, found by binary search. Requires ascending order.
+     */
+    public int countUpTo(int limit) {
+        int low = offset;
+        int high = offset + length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= limit) low = middle + 1;
+            else high = middle;
+        }
+        return low - offset;
+    }
+
+    /**
+     * Zero-copy prefix holding every element ≤ {@code limit}.
+     */
+    public PrimeArray upTo(int limit) {
+        return slice(0, countUpTo(limit));
+    }
+
+    /**
+     * Copy that retains only this view's elements, so a small slice of a large result doesn't pin the whole
+     * backing array when cached.
+     */
+    public PrimeArray compact() {
+        return length == values.length ? this : wrap(toIntArray());
+    }
+
+    /**
+     * Backing array, exposed to the serializer and merge code in this module. The view covers
+     * {@code [offset(), offset() + size())}. Never modify it.
+     */
+    public int[] backingArray() {
+        return values;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof PrimeArray primeArray) {
+            return Arrays.equals(values, offset, offset + length,
+                    primeArray.values, primeArray.offset, primeArray.offset + primeArray.length);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = offset, end = offset + length; i < end; i++) hash = 31 * hash + values[i];
+        return hash;
+    }
+
+    /**
+     * Growable primitive buffer used by algorithms to collect primes without boxing.
+     */
+    public static final class Builder {
+
+        private int[] buffer;
+        private int size;
+
+        private Builder(int expectedSize) {
+            this.buffer = new int[Math.max(expectedSize, 16)];
+        }
+
+        public Builder add(int value) {
+            if (size == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length + (buffer.length >> 1));
+            buffer[size++] = value;
+            return this;
+        }
+
+        public Builder addAll(PrimeArray primes) {
+            int count = primes.length;
+            if (size + count > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(size + count, buffer.length + (buffer.length >> 1)));
+            }
+            System.arraycopy(primes.values, primes.offset, buffer, size, count);
+            size += count;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PrimeArray build() {
+            return wrap(size == buffer.length ? buffer : Arrays.copyOf(buffer, size));
+        }
+    }
+}
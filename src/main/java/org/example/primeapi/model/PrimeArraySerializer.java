@@ -0,0 +1,32 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link PrimeArray} straight from its backing {@code int[]}.
+ *
+ * <p>Jackson's default collection serializer would box every element through {@code List.get}.
+ * {@code JsonGenerator.writeArray} writes primitive ints for JSON, and falls back to one element
+ * per value for XML, so the {@code <primes><prime>..</prime></primes>} wrapping in {@link PrimePayload}
+ * is unchanged.
+ */
+public class PrimeArraySerializer extends StdSerializer<PrimeArray> {
+
+    public PrimeArraySerializer() {
+        super(PrimeArray.class);
+    }
+
+    @Override
+    public void serialize(PrimeArray primes, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeArray(primes.backingArray(), primes.offset(), primes.size());
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, PrimeArray primes) {
+        return primes.isEmpty();
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.primeapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * One page of primes plus where the next page starts, or {@code null} when this is the last page.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PrimePage {
+
+    private final PrimeArray primes;
+
+    private final Integer nextStart;
+
+    public boolean hasMore() {
+        return nextStart != null;
+    }
+}
@@ -19,7 +19,7 @@ import java.util.List;
 @Setter
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JacksonXmlRootElement(localName = "PrimeResponse")
-@JsonPropertyOrder({"algorithm", "limit", "threads", "primes", "total", "durationMs"})
+@JsonPropertyOrder({"algorithm", "from", "limit", "threads", "primes", "total", "durationMs", "nextCursor"})
 public class PrimePayload {
 
     @Schema(description = "Algorithm used for prime generation", example = "sieve")
@@ -30,7 +30,7 @@ public class PrimePayload {
     @Schema(description = "Upper limit for prime generation", example = "1000")
     @JsonProperty("limit")
     @JacksonXmlProperty(localName = "limit")
-    private int limit;
+    private long limit;
 
     @Schema(description = "Number of threads used for computation", example = "4")
     @JsonProperty("threads")
@@ -41,17 +41,39 @@ public class PrimePayload {
     @JsonProperty("primes")
     @JacksonXmlElementWrapper(localName = "primes")
     @JacksonXmlProperty(localName = "prime")
-    private List<Integer> primes;
+    private List<? extends Number> primes;
 
     @Schema(description = "Total number of primes found", example = "168")
     @JsonProperty("total")
     @JacksonXmlProperty(localName = "total")
-    private int total;
+    private long total;
 
     @Schema(description = "Time taken to compute primes in milliseconds", example = "12")
     @JsonProperty("durationMs")
     @JacksonXmlProperty(localName = "durationMs")
     private long durationMs;
 
+    @Schema(description = "Opaque cursor for the next page of primes; absent on the last page or when not paging",
+            example = "cDoxMDAwMDAw")
+    @JsonProperty("nextCursor")
+    @JacksonXmlProperty(localName = "nextCursor")
+    private String nextCursor;
+
+    @Schema(description = "Inclusive lower bound of a range query; absent when every prime up to limit was requested",
+            example = "999000000")
+    @JsonProperty("from")
+    @JacksonXmlProperty(localName = "from")
+    private Long from;
+
     public PrimePayload() {}
+
+    public PrimePayload(String algorithm, long limit, int threads, List<? extends Number> primes, long total,
+                        long durationMs) {
+        this(algorithm, limit, threads, primes, total, durationMs, null);
+    }
+
+    public PrimePayload(String algorithm, long limit, int threads, List<? extends Number> primes, long total,
+                        long durationMs, String nextCursor) {
+        this(algorithm, limit, threads, primes, total, durationMs, nextCursor, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Progress of the traffic-driven cache warm-up")
+@JacksonXmlRootElement(localName = "WarmUpStats")
+@JsonPropertyOrder({"state", "trackedQueries", "planned", "warmed", "alreadyCached", "failed", "backoffs",
+        "warmHits", "liveLatencyMs"})
+public class WarmUpStats {
+
+    @Schema(description = "IDLE, WAITING, WARMING, BACKING_OFF or DONE", example = "WARMING")
+    @JsonProperty("state")
+    @JacksonXmlProperty(localName = "state")
+    private String state;
+
+    @Schema(description = "Distinct queries in the traffic profile", example = "42")
+    @JsonProperty("trackedQueries")
+    @JacksonXmlProperty(localName = "trackedQueries")
+    private int trackedQueries;
+
+    @Schema(description = "Top queries selected for warm-up at startup", example = "20")
+    @JsonProperty("planned")
+    @JacksonXmlProperty(localName = "planned")
+    private int planned;
+
+    @Schema(description = "Queries precomputed into the primes cache", example = "12")
+    @JsonProperty("warmed")
+    @JacksonXmlProperty(localName = "warmed")
+    private int warmed;
+
+    @Schema(description = "Planned queries skipped because live traffic or a snapshot had already cached them", example = "6")
+    @JsonProperty("alreadyCached")
+    @JacksonXmlProperty(localName = "alreadyCached")
+    private int alreadyCached;
+
+    @Schema(description = "Planned queries that failed to compute", example = "0")
+    @JsonProperty("failed")
+    @JacksonXmlProperty(localName = "failed")
+    private int failed;
+
+    @Schema(description = "Times warm-up paused because live traffic was slow or queued", example = "3")
+    @JsonProperty("backoffs")
+    @JacksonXmlProperty(localName = "backoffs")
+    private long backoffs;
+
+    @Schema(description = "Live requests answered from an entry the warm-up computed", example = "57")
+    @JsonProperty("warmHits")
+    @JacksonXmlProperty(localName = "warmHits")
+    private long warmHits;
+
+    @Schema(description = "Smoothed latency of recent live prime requests, in milliseconds", example = "12.5")
+    @JsonProperty("liveLatencyMs")
+    @JacksonXmlProperty(localName = "liveLatencyMs")
+    private double liveLatencyMs;
+}
@@ -0,0 +1,163 @@
+package org.example.primeapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.model.PrimeArray;
+import org.example.primeapi.util.BoundedCache;
+import org.example.primeapi.util.CacheSnapshotFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the {@code primes} and {@code basePrimes} caches to {@code CACHE_SNAPSHOT_PATH} so a restart does
+ * not begin cold.
+ *
+ * <p>Once the application is ready, the snapshot is loaded on a background thread; requests are served from
+ * the start and simply miss until it is in. Restored entries never overwrite ones computed in the meantime,
+ * and each cache's byte budget still applies. A snapshot that fails its checksum is logged and ignored.
+ *
+ * <p>The caches are written back every {@code CACHE_SNAPSHOT_INTERVAL_SECONDS} (skipped when nothing changed)
+ * and on shutdown. Loading and periodic writes share one thread, so a write never runs before the load has
+ * finished and cannot replace a good snapshot with empty caches. An empty {@code CACHE_SNAPSHOT_PATH} turns
+ * snapshots off.
+ */
+@Slf4j
+@Component
+public class CacheSnapshotService {
+
+    static final List<String> SNAPSHOT_CACHES = List.of("basePrimes", "primes");
+
+    private final CacheManager cacheManager;
+    private final Path path;
+    private final long intervalSeconds;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean loaded;
+    private long savedModifications = -1;
+
+    public CacheSnapshotService(CacheManager cacheManager,
+                                @Value("${CACHE_SNAPSHOT_PATH:}") String path,
+                                @Value("${CACHE_SNAPSHOT_INTERVAL_SECONDS:600}") long intervalSeconds) {
+        this.cacheManager = cacheManager;
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /** Whether the startup load has finished, successfully or not. */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!isEnabled() || scheduler != null) return;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::load);
+        if (intervalSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::saveQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Restores entries from the snapshot file, if there is one.
+     *
+     * @return number of entries restored
+     */
+    public int load() {
+        try {
+            if (!isEnabled() || !Files.exists(path)) return 0;
+
+            long start = System.currentTimeMillis();
+            Map<String, List<Map.Entry<Object, PrimeArray>>> snapshot = CacheSnapshotFile.read(path);
+            int restored = 0;
+            for (Map.Entry<String, List<Map.Entry<Object, PrimeArray>>> cache : snapshot.entrySet()) {
+                BoundedCache target = boundedCache(cache.getKey());
+                if (target == null) continue;
+                // Least recently used first, so the restored LRU order matches the saved one
+                for (Map.Entry<Object, PrimeArray> entry : cache.getValue()) {
+                    if (target.putIfAbsent(entry.getKey(), entry.getValue()) == null) restored++;
+                }
+            }
+            log.info("Restored {} cache entries from {} in {} ms", restored, path, System.currentTimeMillis() - start);
+            return restored;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring cache snapshot {}: {}", path, e.getMessage());
+            return 0;
+        } finally {
+            loaded = true;
+        }
+    }
+
+    /**
+     * Writes the snapshot caches to the snapshot file, unless they are unchanged since the last write.
+     *
+     * @return number of entries written, or -1 if nothing was written
+     */
+    public synchronized int save() throws IOException {
+        if (!isEnabled() || !loaded) return -1;
+
+        long modifications = 0;
+        Map<String, List<Map.Entry<Object, PrimeArray>>> caches = new LinkedHashMap<>();
+        for (String name : SNAPSHOT_CACHES) {
+            BoundedCache cache = boundedCache(name);
+            if (cache == null) continue;
+            modifications += cache.modifications();
+            caches.put(name, cache.entries().stream()
+                    .filter(entry -> entry.getValue() instanceof PrimeArray)
+                    .map(entry -> Map.entry(entry.getKey(), (PrimeArray) entry.getValue()))
+                    .toList());
+        }
+        if (modifications == savedModifications) return -1;
+
+        long start = System.currentTimeMillis();
+        int written = CacheSnapshotFile.write(path, caches);
+        savedModifications = modifications;
+        log.info("Saved {} cache entries to {} ({} bytes) in {} ms",
+                written, path, Files.size(path), System.currentTimeMillis() - start);
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            if (scheduler != null) scheduler.shutdownNow();
+        }
+        saveQuietly();
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not save cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private BoundedCache boundedCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        return cache instanceof BoundedCache bounded ? bounded : null;
+    }
+}
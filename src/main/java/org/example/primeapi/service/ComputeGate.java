@@ -0,0 +1,66 @@
+package org.example.primeapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.model.GateStats;
+import org.example.primeapi.util.ThreadPoolManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Admission gate for CPU-heavy prime requests.
+ *
+ * <p>Requests whose limit is above {@code HEAVY_LIMIT} must hold one of {@code HEAVY_PERMITS} permits while they
+ * compute; the rest wait in arrival order. Cheap requests skip the gate and run inline on the request thread
+ * (see {@link ThreadPoolManager#runInline}), so they neither wait for a permit nor queue on the compute pool
+ * behind chunks that heavy requests have already submitted. This pairs with {@code spring.threads.virtual.enabled}
+ * on Java 21, where waiting requests park a virtual thread instead of holding a Tomcat worker.
+ */
+@Slf4j
+@Component
+public class ComputeGate {
+
+    private final int heavyLimit;
+    private final int permits;
+    private final Semaphore semaphore;
+
+    public ComputeGate(@Value("${HEAVY_LIMIT:5000000}") int heavyLimit,
+                       @Value("${HEAVY_PERMITS:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int permits) {
+        this.heavyLimit = heavyLimit;
+        this.permits = permits;
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    public boolean isHeavy(long limit) {
+        return limit > heavyLimit;
+    }
+
+    /**
+     * Runs {@code work} inline on the calling thread for cheap requests, or after acquiring a permit for heavy ones.
+     */
+    public <T> T run(long limit, Supplier<T> work) {
+        if (!isHeavy(limit)) return ThreadPoolManager.runInline(work);
+
+        if (!semaphore.tryAcquire()) {
+            log.info("Heavy request for limit {} queued behind {} running ({} waiting)",
+                    limit, permits, semaphore.getQueueLength());
+            semaphore.acquireUninterruptibly();
+        }
+        try {
+            return work.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    public GateStats stats() {
+        return GateStats.builder()
+                .heavyLimit(heavyLimit)
+                .permits(permits)
+                .running(permits - semaphore.availablePermits())
+                .queued(semaphore.getQueueLength())
+                .build();
+    }
+}
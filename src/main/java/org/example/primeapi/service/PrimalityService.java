@@ -0,0 +1,103 @@
+package org.example.primeapi.service;
+
+import org.example.primeapi.algo.Algorithms.MillerRabin64Util;
+import org.example.primeapi.algo.BasePrimeService;
+import org.example.primeapi.util.ThreadPoolManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Answers "is n prime?" for single numbers anywhere in the {@code long} range, without generating the primes
+ * below n.
+ *
+ * <p>Backed by the deterministic 64-bit Miller–Rabin test in {@link MillerRabin64Util}, so results are exact
+ * and cost a few microseconds at most whatever n is. Other services should go through this class rather than
+ * the utility, so the strategy can change in one place.
+ *
+ * <p>{@link #testAll} checks a whole batch: numbers below {@code PRIMALITY_BITMAP_LIMIT} are a single bit
+ * lookup in an odd-only sieve bitmap cached in {@code basePrimes}, the rest go to Miller–Rabin. Batches larger
+ * than {@link #CHUNK_SIZE} are split across the shared compute pool. Input and output stay primitive arrays.
+ */
+@Service
+public class PrimalityService {
+
+    /** Numbers tested per compute-pool task; smaller batches run on the calling thread. */
+    public static final int CHUNK_SIZE = 8_192;
+
+    /** Numbers below this are looked up in the sieve bitmap instead of running Miller–Rabin. */
+    @Value("${PRIMALITY_BITMAP_LIMIT:33554432}")
+    private int bitmapLimit;
+
+    @Autowired
+    private BasePrimeService basePrimeService;
+
+    public boolean isPrime(long n) {
+        return MillerRabin64Util.isPrime(n);
+    }
+
+    /**
+     * Primality of every number in {@code numbers}; {@code result[i]} answers {@code numbers[i]}. Negative
+     * numbers, 0 and 1 are not prime.
+     */
+    public boolean[] testAll(long[] numbers) {
+        boolean[] results = new boolean[numbers.length];
+        if (numbers.length == 0) return results;
+
+        long[] oddComposites = basePrimeService.generateOddCompositeBitmap(bitmapLimit);
+        if (numbers.length <= CHUNK_SIZE) {
+            testChunk(numbers, results, 0, numbers.length, oddComposites, bitmapLimit);
+            return results;
+        }
+
+        ExecutorService executor = ThreadPoolManager.computePool();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int start = 0; start < numbers.length; start += CHUNK_SIZE) {
+            int chunkStart = start;
+            int chunkEnd = Math.min(numbers.length, start + CHUNK_SIZE);
+            // Chunks write disjoint slices of results; Future.get() publishes them to this thread
+            futures.add(executor.submit(
+                    () -> testChunk(numbers, results, chunkStart, chunkEnd, oddComposites, bitmapLimit)));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Primality batch: interrupted while waiting for chunks", e);
+            } catch (ExecutionException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Primality batch: chunk failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private static void testChunk(long[] numbers, boolean[] results, int start, int end,
+                                  long[] oddComposites, int bitmapLimit) {
+        for (int i = start; i < end; i++) {
+            results[i] = isPrime(numbers[i], oddComposites, bitmapLimit);
+        }
+    }
+
+    /**
+     * Bitmap lookup below {@code bitmapLimit}, Miller–Rabin above. See
+     * {@link BasePrimeService#generateOddCompositeBitmap} for the layout.
+     */
+    static boolean isPrime(long n, long[] oddComposites, int bitmapLimit) {
+        if (n >= bitmapLimit) return MillerRabin64Util.isPrime(n);
+        if (n < 3) return n == 2;
+        if ((n & 1) == 0) return false;
+
+        int bit = (int) (n >>> 1);
+        return (oddComposites[bit >>> 6] & (1L << bit)) == 0;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.primeapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.model.CacheStats;
+import org.example.primeapi.model.PrimeArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Full prime results keyed only by limit, answering any smaller limit with a zero-copy prefix.
+ *
+ * <p>Every algorithm returns the same primes for a given limit, and the primes ≤ L are a prefix of the primes
+ * ≤ M for any M ≥ L. So the store ignores algorithm and thread count: a lookup takes the smallest stored limit
+ * ≥ the requested one ({@code ceilingEntry}) and cuts it with a binary search ({@link PrimeArray#upTo(int)}).
+ *
+ * <p>Storing a result drops every smaller entry, since they are prefixes of it, so the store normally holds a
+ * single array. Results larger than {@code RESULT_STORE_MAX_BYTES} are not stored.
+ */
+@Slf4j
+@Component
+public class PrimeResultStore {
+
+    private final ConcurrentSkipListMap<Integer, PrimeArray> resultsByLimit = new ConcurrentSkipListMap<>();
+    private final long maxBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PrimeResultStore(@Value("${RESULT_STORE_MAX_BYTES:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Primes ≤ {@code limit}, if a stored result covers it.
+     */
+    public Optional<PrimeArray> lookup(int limit) {
+        Map.Entry<Integer, PrimeArray> covering = resultsByLimit.ceilingEntry(limit);
+        if (covering == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        log.debug("Answering limit {} from stored result for limit {}", limit, covering.getKey());
+        return Optional.of(covering.getValue().upTo(limit));
+    }
+
+    /**
+     * Stores the complete, ascending primes ≤ {@code limit}.
+     */
+    public void store(int limit, PrimeArray primes) {
+        if (4L * primes.size() > maxBytes) {
+            log.debug("Not storing result for limit {}: {} primes exceed the {} byte budget", limit, primes.size(), maxBytes);
+            return;
+        }
+        if (resultsByLimit.ceilingKey(limit) != null) return; // already covered
+
+        resultsByLimit.put(limit, primes.compact());
+        ConcurrentNavigableMap<Integer, PrimeArray> subsumed = resultsByLimit.headMap(limit, false);
+        evictions.add(subsumed.size());
+        subsumed.clear();
+    }
+
+    public void clear() {
+        resultsByLimit.clear();
+    }
+
+    public CacheStats stats() {
+        long bytes = resultsByLimit.values().stream().mapToLong(primes -> 4L * primes.size()).sum();
+        return CacheStats.builder()
+                .name("primeResults")
+                .entries(resultsByLimit.size())
+                .estimatedBytes(bytes)
+                .maxBytes(maxBytes)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .build();
+    }
+}
@@ -2,11 +2,21 @@ package org.example.primeapi.service;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.algo.Algorithms.BitSieveAlgorithm;
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
+import org.example.primeapi.algo.Algorithms.PrimeCountingUtil;
+import org.example.primeapi.algo.BasePrimeService;
 import org.example.primeapi.algo.PrimeAlgorithm;
+import org.example.primeapi.model.CoalescingStats;
+import org.example.primeapi.model.LongPrimeArray;
+import org.example.primeapi.model.PrimeArray;
+import org.example.primeapi.model.PrimePage;
 import org.example.primeapi.util.PrimeResultWrapper;
+import org.example.primeapi.util.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -19,17 +29,49 @@ import java.util.stream.Collectors;
 @Service
 public class PrimeService {
 
+    /** Above this limit, full lists are not returned; {@code /api/primes} pages through them instead. */
+    public static final int PAGING_THRESHOLD = 100_000_000;
+
+    public static final int DEFAULT_PAGE_SIZE = 100_000;
+
+    public static final int MAX_PAGE_SIZE = 1_000_000;
+
     private final Map<String, PrimeAlgorithm> algorithmMap;
 
     @Value("${MAXLIMIT:2147463646}")
     private int maxLimit;
 
+    /** Ceiling for the 64-bit window, count and stream queries above {@code maxLimit}. */
+    @Value("${MAX_LONG_LIMIT:1000000000000}")
+    private long maxLongLimit;
+
+    /** Ceiling for {@link #primePi}, which needs O(√x) memory rather than a sieve over [2, x]. */
+    @Value("${PRIME_PI_MAX:10000000000000}")
+    private long maxPiLimit;
+
     @Value("${MAXTHREADS:128}")
     private int maxThreads;
 
     @Getter
     private long durationMs;
 
+    @Autowired
+    private ComputeGate computeGate;
+
+    @Autowired
+    private PrimeResultStore resultStore;
+
+    @Autowired
+    private BasePrimeService basePrimeService;
+
+    @Autowired
+    private BitSieveAlgorithm bitSieve;
+
+    /** Identical concurrent queries share one computation; keyed like the {@code primes} cache. */
+    private final SingleFlight<String, PrimeArray> inFlight = new SingleFlight<>();
+
+    private final SingleFlight<String, LongPrimeArray> longInFlight = new SingleFlight<>();
+
     @Autowired
     public PrimeService(List<PrimeAlgorithm> algorithms) {
         this.algorithmMap = algorithms.stream()
@@ -43,10 +85,10 @@ public class PrimeService {
             key = "#algorithm + '-' + #limit + '-' + #threads",
             unless = "!#useCache"
     )
-    public List<Integer> findPrimes(String algorithm, int limit, int threads, boolean useCache) {
+    public PrimeArray findPrimes(String algorithm, int limit, int threads, boolean useCache) {
 
-        if (limit == 2) return List.of(2);
-        if (shouldSkip(algorithm, limit, threads)) return List.of();
+        if (limit == 2) return PrimeArray.of(2);
+        if (shouldSkip(algorithm, limit, threads)) return PrimeArray.empty();
 
         PrimeAlgorithm selected = algorithmMap.get(algorithm.toLowerCase());
 
@@ -54,19 +96,212 @@ public class PrimeService {
             throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
         }
 
-        long start = System.nanoTime();
-        List<Integer> results = selected.generate(limit, threads);
-        durationMs = (System.nanoTime() - start) / 1_000_000;
+        // Any stored result for a limit ≥ this one contains the answer as a prefix
+        PrimeArray results = useCache ? resultStore.lookup(limit).map(PrimeService::detachSmallPrefix).orElse(null) : null;
+        if (results == null) {
+            results = generate(selected, limit, threads);
+            if (useCache) resultStore.store(limit, results);
+        }
 
         // Wrap and trim if limit is large
-        if (limit > 100_000_000) {
-            PrimeResultWrapper wrapper = new PrimeResultWrapper(results, 100_000); // batch size can be tuned
+        if (limit > PAGING_THRESHOLD) {
+            PrimeResultWrapper wrapper = new PrimeResultWrapper(results, DEFAULT_PAGE_SIZE); // batch size can be tuned
             return wrapper.getFirstBatch(); // return only first batch to avoid memory strain
         }
 
         return results;
     }
 
+    /**
+     * Computes the primes ≤ {@code limit} on a single thread and caches them under the key a live
+     * {@link #findPrimes} call with {@code threads} uses. The list does not depend on the thread count, so the
+     * cache warm-up can answer a multi-threaded query without fanning its own work out onto the shared pools.
+     */
+    @CachePut(value = "primes", key = "#algorithm + '-' + #limit + '-' + #threads")
+    public PrimeArray warmPrimes(String algorithm, int limit, int threads) {
+        return findPrimes(algorithm, limit, 1, true);
+    }
+
+    /**
+     * Primes in the inclusive window [{@code from}, {@code to}]. The algorithm's
+     * {@link PrimeAlgorithm#generateRange} sieves only the window, so its cost follows the window width rather
+     * than {@code to}; with {@code useCache}, a stored full result covering {@code to} is sliced instead.
+     * Identical concurrent windows share one computation, and the heavy-request gate is applied to the width.
+     */
+    @Cacheable(value = "primes",
+            key = "#algorithm + '-' + #from + '-' + #to + '-' + #threads",
+            unless = "!#useCache"
+    )
+    public PrimeArray findPrimesInRange(String algorithm, int from, int to, int threads, boolean useCache) {
+        if (shouldSkip(algorithm, to, threads) || from > to) return PrimeArray.empty();
+
+        PrimeAlgorithm selected = algorithmMap.get(algorithm.toLowerCase());
+
+        if (selected == null) {
+            throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+        }
+
+        if (useCache) {
+            var stored = resultStore.lookup(to);
+            if (stored.isPresent()) {
+                PrimeArray covering = stored.get();
+                return covering.slice(covering.countUpTo(from - 1), covering.size());
+            }
+        }
+
+        String key = selected.name() + '-' + from + '-' + to + '-' + threads;
+        return inFlight.execute(key, () -> {
+            long start = System.nanoTime();
+            PrimeArray generated = computeGate.run(to - from + 1, () -> selected.generateRange(from, to, threads));
+            durationMs = (System.nanoTime() - start) / 1_000_000;
+            return generated;
+        });
+    }
+
+    /**
+     * Number of primes ≤ {@code limit}, without returning the list. A stored full result is cut by binary
+     * search; otherwise the algorithm's {@link PrimeAlgorithm#count} runs, which for the sieves tallies
+     * survivors per block in constant memory. Every algorithm gives the same count, so the cache key is the
+     * limit alone; skipped inputs return 0 and are never cached.
+     */
+    @Cacheable(value = "primeCounts",
+            key = "#limit",
+            unless = "!#useCache or #result == 0"
+    )
+    public int countPrimes(String algorithm, int limit, int threads, boolean useCache) {
+        if (shouldSkip(algorithm, limit, threads)) return 0;
+
+        PrimeAlgorithm selected = algorithmMap.get(algorithm.toLowerCase());
+
+        if (selected == null) {
+            throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+        }
+
+        if (useCache) {
+            var stored = resultStore.lookup(limit);
+            if (stored.isPresent()) return stored.get().size();
+        }
+
+        long start = System.nanoTime();
+        int count = computeGate.run(limit, () -> selected.count(limit, threads));
+        durationMs = (System.nanoTime() - start) / 1_000_000;
+        return count;
+    }
+
+    /**
+     * Primes in [{@code from}, {@code to}] for bounds above {@code maxLimit}, up to {@code maxLongLimit}.
+     * Always sieved with the bit-packed kernel on 64-bit bounds, whatever algorithm was requested; only the
+     * window is sieved, with base primes ≤ √to. Concurrent identical windows share one computation.
+     */
+    @Cacheable(value = "primes",
+            key = "'long-' + #from + '-' + #to + '-' + #threads",
+            unless = "!#useCache"
+    )
+    public LongPrimeArray findPrimesInLongRange(long from, long to, int threads, boolean useCache) {
+        if (shouldSkipLong(to, threads) || from > to) return LongPrimeArray.empty();
+
+        String key = "long-" + from + '-' + to + '-' + threads;
+        return longInFlight.execute(key, () -> {
+            long start = System.nanoTime();
+            LongPrimeArray generated = computeGate.run(to - from + 1, () -> bitSieve.generateLongRange(from, to, threads));
+            durationMs = (System.nanoTime() - start) / 1_000_000;
+            return generated;
+        });
+    }
+
+    /**
+     * Number of primes in [{@code from}, {@code to}] for 64-bit bounds, tallied per block in constant memory.
+     * Like {@link #countPrimes}, the count is the same for every algorithm, so only the bounds form the key.
+     */
+    @Cacheable(value = "primeCounts",
+            key = "#from + '-' + #to",
+            unless = "!#useCache or #result == 0"
+    )
+    public long countPrimesInLongRange(long from, long to, int threads, boolean useCache) {
+        if (shouldSkipLong(to, threads) || from > to) return 0;
+
+        long start = System.nanoTime();
+        long count = computeGate.run(to - from + 1, () -> bitSieve.countLongRange(from, to, threads));
+        durationMs = (System.nanoTime() - start) / 1_000_000;
+        return count;
+    }
+
+    /**
+     * π(x), the number of primes ≤ {@code x}, by Lucy_Hedgehog's method in {@link PrimeCountingUtil}: O(x^¾)
+     * time and O(√x) memory, so x = 10¹² takes about a second instead of a sieve over every number. Deterministic,
+     * so results are cached in {@code primeCounts}; inputs below 2 or above {@code maxPiLimit} return 0.
+     */
+    @Cacheable(value = "primeCounts",
+            key = "'pi-' + #x",
+            unless = "!#useCache or #result == 0"
+    )
+    public long primePi(long x, boolean useCache) {
+        if (x < 2) return 0;
+        if (x > maxPiLimit) {
+            log.warn("Skipping pi(x): {} exceeds PRIME_PI_MAX ({})", x, maxPiLimit);
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        long count = computeGate.run(PrimeCountingUtil.estimatedWork(x), () -> PrimeCountingUtil.primePi(x));
+        durationMs = (System.nanoTime() - start) / 1_000_000;
+        return count;
+    }
+
+    /**
+     * One page of at most {@code pageSize} primes in [start, limit].
+     *
+     * <p>Only the blocks containing the page are sieved, using the bit-packed kernel from {@link BitSieveUtil}
+     * and cached base primes ≤ √limit, so walking a huge range never holds more than one page. The sieve goes
+     * through {@link ComputeGate}, sized by the span a page is expected to cover. With {@code useCache}, a stored
+     * full result covering {@code limit} is sliced instead.
+     */
+    public PrimePage findPrimePage(String algorithm, int limit, int threads, int start, int pageSize, boolean useCache) {
+        if (shouldSkip(algorithm, limit, threads) || start > limit) return new PrimePage(PrimeArray.empty(), null);
+
+        long begin = System.nanoTime();
+        PrimeArray candidates = null;
+        if (useCache) {
+            candidates = resultStore.lookup(limit)
+                    .map(stored -> {
+                        int from = stored.countUpTo(start - 1);
+                        return stored.slice(from, Math.min(stored.size(), from + pageSize + 1));
+                    })
+                    .orElse(null);
+        }
+        if (candidates == null) {
+            int[] basePrimes = basePrimeService.generateSieveBasePrimes((int) Math.sqrt(limit)).toIntArray();
+            // Primes thin out as 1/ln n, so a page of pageSize primes spans about pageSize·ln(limit) numbers
+            long pageSpan = Math.min((long) limit - start + 1, (long) Math.ceil(pageSize * Math.log(limit)));
+            candidates = computeGate.run(pageSpan, () -> BitSieveUtil.sieveFrom(start, limit, pageSize, basePrimes));
+        }
+        durationMs = (System.nanoTime() - begin) / 1_000_000;
+
+        if (candidates.size() <= pageSize) return new PrimePage(candidates, null);
+
+        PrimeArray page = candidates.slice(0, pageSize).compact();
+        return new PrimePage(page, page.getInt(pageSize - 1) + 1);
+    }
+
+    /**
+     * Copies out a stored-result prefix that is much smaller than the array it views. The {@code primes} cache
+     * charges a view for its whole backing array, so caching a 1,000-prime prefix of a 1e8 result would otherwise
+     * cost as much as the result itself.
+     */
+    private static PrimeArray detachSmallPrefix(PrimeArray prefix) {
+        return 2L * prefix.size() < prefix.backingArray().length ? prefix.compact() : prefix;
+    }
+
+    private PrimeArray generate(PrimeAlgorithm selected, int limit, int threads) {
+        String key = selected.name() + '-' + limit + '-' + threads;
+        return inFlight.execute(key, () -> {
+            long start = System.nanoTime();
+            PrimeArray generated = computeGate.run(limit, () -> selected.generate(limit, threads));
+            durationMs = (System.nanoTime() - start) / 1_000_000;
+            return generated;
+        });
+    }
+
     public boolean shouldSkip(String label, int limit, int threads) {
         if (limit < 2) {
             log.warn("Skipping test [{}]: limit {} is below minimum threshold (must be ≥ 2)", label, limit);
@@ -95,8 +330,38 @@ public class PrimeService {
         return false;
     }
 
-    @CacheEvict(value = "primes", allEntries = true)
+    /**
+     * {@link #shouldSkip} for 64-bit upper bounds, checked against {@code maxLongLimit}.
+     */
+    public boolean shouldSkipLong(long limit, int threads) {
+        if (limit < 2) {
+            log.warn("Skipping 64-bit query: limit {} is below minimum threshold (must be ≥ 2)", limit);
+            return true;
+        }
+        if (limit > maxLongLimit) {
+            log.warn("Skipping 64-bit query: limit {} exceeds MAX_LONG_LIMIT ({})", limit, maxLongLimit);
+            return true;
+        }
+        if (threads > maxThreads) {
+            log.warn("Skipping 64-bit query: thread count {} exceeds MAX_THREADS ({})", threads, maxThreads);
+            return true;
+        }
+        return false;
+    }
+
+    public CoalescingStats coalescingStats() {
+        CoalescingStats narrow = inFlight.stats();
+        CoalescingStats wide = longInFlight.stats();
+        return CoalescingStats.builder()
+                .inFlight(narrow.getInFlight() + wide.getInFlight())
+                .computations(narrow.getComputations() + wide.getComputations())
+                .coalesced(narrow.getCoalesced() + wide.getCoalesced())
+                .build();
+    }
+
+    @CacheEvict(value = {"primes", "primeCounts", "responses"}, allEntries = true)
     public void clearPrimeCache() {
+        resultStore.clear();
         log.info("✅ Prime cache cleared manually");
     }
 
@@ -0,0 +1,188 @@
+package org.example.primeapi.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
+import org.example.primeapi.algo.BasePrimeService;
+import org.example.primeapi.model.LongPrimeArray;
+import org.example.primeapi.model.PrimeArray;
+import org.example.primeapi.model.PrimePayload;
+import org.example.primeapi.util.PrimeResultWrapper;
+import org.example.primeapi.util.ThreadPoolManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Writes primes as newline-delimited JSON while they are being sieved.
+ *
+ * <p>Each line is one segment: {@code {"start":a,"end":b,"primes":[...]}}. The last line is a
+ * {@link PrimePayload} summary without the primes. Segments are one bit-sieve block wide (about 1M
+ * numbers). Up to {@code threads} segments, capped at the compute pool size, are sieved ahead on the compute
+ * pool and written in order, so memory stays bounded by that many segments however large the limit. The first
+ * line reaches the client as soon as the first segment is done.
+ *
+ * <p>Sieving runs through {@link ComputeGate} like every other computation: a stream spanning more than
+ * {@code HEAVY_LIMIT} numbers holds a heavy permit until its last segment is written, and a cheaper one sieves
+ * its segments inline on the streaming thread.
+ *
+ * <p>Bounds are {@code long}: segments that end above {@code Integer.MAX_VALUE} are sieved with the 64-bit
+ * kernel ({@link BitSieveUtil#sieveLongRange}), so a stream can start at {@code from} and run up to the
+ * service's 64-bit ceiling with the same bounded memory.
+ *
+ * <p>With {@code useCache}, a covering result in {@link PrimeResultStore} is streamed in batches through
+ * {@link PrimeResultWrapper#streamBatches()} instead.
+ */
+@Slf4j
+@Component
+public class PrimeStreamer {
+
+    /** Numbers covered by one streamed segment: one full odd-only bit-sieve block. */
+    static final int SEGMENT_SPAN = 2 * BitSieveUtil.BLOCK_BITS;
+
+    private static final int STORED_BATCH_SIZE = 100_000;
+
+    @Autowired
+    private BasePrimeService basePrimeService;
+
+    @Autowired
+    private PrimeResultStore resultStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ComputeGate computeGate;
+
+    /**
+     * @param from inclusive lower bound, or {@code null} to stream every prime ≤ {@code limit}
+     */
+    public void writeNdjson(String algorithm, Long from, long limit, int threads, boolean useCache, boolean skip,
+                            OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        long total = 0;
+        if (!skip) {
+            Optional<PrimeArray> stored = useCache && from == null && limit <= Integer.MAX_VALUE
+                    ? resultStore.lookup((int) limit) : Optional.empty();
+            total = stored.isPresent()
+                    ? writeStored(stored.get(), generator, out)
+                    : writeGated(from == null ? 2 : Math.max(2, from), limit, threads, generator, out);
+        }
+
+        PrimePayload summary = new PrimePayload(algorithm, limit, threads, null, total,
+                (System.nanoTime() - start) / 1_000_000, null, from);
+        objectMapper.writeValue(generator, summary);
+        generator.flush();
+        out.write('\n');
+        out.flush();
+    }
+
+    private long writeStored(PrimeArray stored, JsonGenerator generator, OutputStream out) throws IOException {
+        long total = 0;
+        for (PrimeArray batch : (Iterable<PrimeArray>) new PrimeResultWrapper(stored, STORED_BATCH_SIZE).streamBatches()::iterator) {
+            if (batch.isEmpty()) continue;
+            writeSegment(batch.getInt(0), batch.getInt(batch.size() - 1), batch, generator, out);
+            total += batch.size();
+        }
+        return total;
+    }
+
+    private long writeGated(long from, long limit, int threads, JsonGenerator generator, OutputStream out)
+            throws IOException {
+        int poolSize = ThreadPoolManager.computePoolStats().getMaxPoolSize();
+        try {
+            return computeGate.run(limit - from + 1, () -> {
+                // Inline streams sieve each segment just before writing it; there is nothing to overlap with
+                int lookahead = ThreadPoolManager.isInline() ? 1 : Math.max(1, Math.min(threads, poolSize));
+                try {
+                    return writeSieved(from, limit, lookahead, generator, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeSieved(long from, long limit, int lookahead, JsonGenerator generator, OutputStream out)
+            throws IOException {
+        int[] basePrimes = basePrimeService.generateSieveBasePrimes((int) Math.sqrt((double) limit)).toIntArray();
+        ArrayDeque<Segment> pending = new ArrayDeque<>();
+        long nextStart = from;
+        long total = 0;
+
+        try {
+            while (nextStart <= limit || !pending.isEmpty()) {
+                while (nextStart <= limit && pending.size() < lookahead) {
+                    long segmentStart = nextStart;
+                    long segmentEnd = Math.min(limit, nextStart + SEGMENT_SPAN - 1);
+                    Future<List<? extends Number>> primes = ThreadPoolManager.isInline()
+                            ? CompletableFuture.completedFuture(sieveSegment(segmentStart, segmentEnd, basePrimes))
+                            : ThreadPoolManager.computePool().submit(() -> sieveSegment(segmentStart, segmentEnd, basePrimes));
+                    pending.add(new Segment(segmentStart, segmentEnd, primes));
+                    nextStart = segmentEnd + 1;
+                }
+
+                Segment segment = pending.poll();
+                List<? extends Number> primes = segment.primes().get();
+                writeSegment(segment.start(), segment.end(), primes, generator, out);
+                total += primes.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming primes", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Segment sieve failed", e.getCause());
+        } catch (IOException | UncheckedIOException e) {
+            log.info("Client stopped reading prime stream for limit {}: {}", limit, e.getMessage());
+            throw e;
+        } finally {
+            pending.forEach(segment -> segment.primes().cancel(true));
+        }
+        return total;
+    }
+
+    /**
+     * Sieves one segment, with the 64-bit kernel only once the segment ends beyond {@code Integer.MAX_VALUE}.
+     */
+    private static List<? extends Number> sieveSegment(long start, long end, int[] basePrimes) {
+        return end <= Integer.MAX_VALUE
+                ? BitSieveUtil.sieveRange((int) start, (int) end, basePrimes)
+                : BitSieveUtil.sieveLongRange(start, end, basePrimes);
+    }
+
+    private void writeSegment(long start, long end, List<? extends Number> primes, JsonGenerator generator,
+                              OutputStream out) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("start", start);
+        generator.writeNumberField("end", end);
+        generator.writeFieldName("primes");
+        if (primes instanceof LongPrimeArray widePrimes) {
+            generator.writeArray(widePrimes.backingArray(), widePrimes.offset(), widePrimes.size());
+        } else {
+            PrimeArray narrowPrimes = (PrimeArray) primes;
+            generator.writeArray(narrowPrimes.backingArray(), narrowPrimes.offset(), narrowPrimes.size());
+        }
+        generator.writeEndObject();
+        generator.flush();
+        out.write('\n');
+        out.flush();
+    }
+
+    private record Segment(long start, long end, Future<List<? extends Number>> primes) {
+    }
+}
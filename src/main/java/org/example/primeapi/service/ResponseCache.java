@@ -0,0 +1,192 @@
+package org.example.primeapi.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.config.PrimeDeltaMessageConverter;
+import org.example.primeapi.model.APIResponse;
+import org.example.primeapi.model.CachedResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches fully serialized {@code /api/primes} responses, keyed on the query plus the negotiated content type,
+ * so a repeat request is answered by copying bytes instead of running Jackson over millions of primes.
+ *
+ * <p>Bodies are rendered once by the same message converters Spring MVC would use, so cached and uncached
+ * responses are byte-for-byte identical apart from compression. When the client accepts gzip and the body is at
+ * least {@code RESPONSE_CACHE_GZIP_MIN_BYTES}, the compressed form is stored instead and served with
+ * {@code Content-Encoding: gzip}. Entries live in the byte-budgeted {@code responses} cache.
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+    public static final String CACHE_NAME = "responses";
+
+    /** Types {@code /api/primes} can produce, in the server's order of preference. */
+    private static final List<MediaType> PRODUCIBLE = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, PrimeDeltaMessageConverter.PRIME_DELTA);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    @Value("${RESPONSE_CACHE_GZIP_MIN_BYTES:1024}")
+    private int gzipMinBytes;
+
+    /**
+     * Picks the content type the response will be written in, following the Accept header the way Spring MVC does.
+     *
+     * @return the negotiated type, or {@code null} if nothing acceptable can be produced (the caller should then
+     *         answer 406 without computing anything)
+     */
+    public MediaType negotiate(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) return PRODUCIBLE.get(0);
+
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+
+        for (MediaType acceptedType : accepted) {
+            for (MediaType producible : PRODUCIBLE) {
+                if (acceptedType.isCompatibleWith(producible)) return producible;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip: a {@code gzip} coding with q > 0, or failing that a {@code *}
+     * with q > 0. An explicit {@code gzip;q=0} refuses gzip even when {@code *} is accepted.
+     */
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        Double gzip = null;
+        Double any = null;
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim().toLowerCase();
+                double q = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim().toLowerCase();
+                    if (parameter.startsWith("q=")) q = qValue(parameter.substring(2));
+                }
+                if (name.equals("gzip") || name.equals("x-gzip")) gzip = q;
+                else if (name.equals("*")) any = q;
+            }
+        }
+        if (gzip != null) return gzip > 0;
+        return any != null && any > 0;
+    }
+
+    /** A malformed weight counts as a refusal, so gzip is never sent on a header we cannot read. */
+    private static double qValue(String weight) {
+        try {
+            return Double.parseDouble(weight.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Serves the cached bytes for {@code key} in the given type, rendering and storing them first on a miss.
+     *
+     * @param compute builds the response on a miss; only successful responses are cached
+     */
+    public ResponseEntity<byte[]> serve(String key, MediaType type, boolean gzip, Supplier<APIResponse> compute) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        String cacheKey = key + "|" + type + (gzip ? "|gzip" : "");
+
+        CachedResponse cached = cache.get(cacheKey, CachedResponse.class);
+        boolean hit = cached != null;
+        if (!hit) {
+            APIResponse response = compute.get();
+            cached = render(response, type, gzip);
+            if (response.isSuccessful()) cache.put(cacheKey, cached);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(cached.getHeaders());
+        if (cached.isGzipped()) headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        headers.setContentLength(cached.getBody().length);
+        headers.set("X-Cache", hit ? "HIT" : "MISS");
+        return new ResponseEntity<>(cached.getBody(), headers, 200);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CachedResponse render(APIResponse response, MediaType type, boolean gzip) {
+        for (HttpMessageConverter<?> converter : handlerAdapter.getObject().getMessageConverters()) {
+            if (!converter.canWrite(APIResponse.class, type)) continue;
+
+            BufferedOutputMessage message = new BufferedOutputMessage();
+            try {
+                ((HttpMessageConverter<APIResponse>) converter).write(response, type, message);
+                byte[] body = message.body.toByteArray();
+                if (gzip && body.length >= gzipMinBytes) {
+                    return new CachedResponse(message.headers, gzip(body), true);
+                }
+                return new CachedResponse(message.headers, body, false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        throw new IllegalStateException("No converter can write " + type);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed, 1 << 16)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Collects what a converter writes so it can be cached.
+     */
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 16);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package org.example.primeapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.algo.Algos;
+import org.example.primeapi.model.GateStats;
+import org.example.primeapi.model.PoolStats;
+import org.example.primeapi.model.PrimeArray;
+import org.example.primeapi.model.WarmUpStats;
+import org.example.primeapi.util.BoundedCache;
+import org.example.primeapi.util.ThreadPoolManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Precomputes the most requested prime queries after a restart, using a profile of recent traffic.
+ *
+ * <p>Every non-paged {@code /api/primes} request with {@code useCache} adds one to its query's score. Scores decay with a half-life of
+ * {@code WARMUP_HALF_LIFE_HOURS}, so the profile follows what is being asked now rather than all time. The
+ * profile is written to {@code WARMUP_PROFILE_PATH} every {@code WARMUP_PROFILE_INTERVAL_SECONDS} and on
+ * shutdown.
+ *
+ * <p>Once the application is ready (and any cache snapshot has loaded), the top {@code WARMUP_TOP_N} queries
+ * are computed one at a time on a minimum-priority background thread. Each is computed with a single thread,
+ * so the work stays on that low-priority thread instead of the shared pools, and cached under the key of the
+ * query as it was asked ({@link PrimeService#warmPrimes}). Queries already cached are skipped. Before each one
+ * the warm-up backs off, with doubling pauses, while live requests are slower than {@code WARMUP_MAX_LATENCY_MS}
+ * on average, the compute or fork/join pool is running or queueing anything, or the heavy-request gate has no
+ * free permit. Live traffic always wins.
+ *
+ * <p>{@link #stats()} reports progress, and {@code warmHits} counts live requests that {@link PrimeService#findPrimes}
+ * answered with an entry the warm-up computed.
+ */
+@Slf4j
+@Component
+public class WarmUpService {
+
+    enum State { IDLE, WAITING, WARMING, BACKING_OFF, DONE }
+
+    /** Upper bound on distinct queries tracked; the lowest scores are dropped beyond it. */
+    static final int MAX_TRACKED = 1_000;
+
+    /** Without live requests for this long, latency no longer counts against warming. */
+    private static final long IDLE_AFTER_MS = 5_000;
+
+    /** Weight of the newest sample in the latency average. */
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private static final long MIN_BACKOFF_MS = 250;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final long SNAPSHOT_WAIT_MS = 60_000;
+    private static final double MIN_SCORE = 0.05;
+
+    /** A query as the {@code primes} cache keys it. */
+    record WarmQuery(String algorithm, int limit, int threads) {
+
+        String cacheKey() {
+            return algorithm + '-' + limit + '-' + threads;
+        }
+    }
+
+    private final PrimeService primeService;
+    private final CacheManager cacheManager;
+    private final ComputeGate computeGate;
+    private final CacheSnapshotService snapshots;
+
+    private final Path profilePath;
+    private final int topN;
+    private final double maxLatencyMs;
+    private final long profileIntervalSeconds;
+    private final double decayPerInterval;
+
+    private final Map<WarmQuery, Double> scores = new ConcurrentHashMap<>();
+    /** The exact arrays the warm-up cached, so a live request served one of them can be told apart from a recompute. */
+    private final Map<String, WeakReference<PrimeArray>> warmedEntries = new ConcurrentHashMap<>();
+
+    private volatile State state = State.IDLE;
+    private volatile int planned;
+    private final AtomicInteger warmed = new AtomicInteger();
+    private final AtomicInteger alreadyCached = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final LongAdder backoffs = new LongAdder();
+    private final LongAdder warmHits = new LongAdder();
+
+    private volatile double liveLatencyMs;
+    private volatile long lastLiveMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    public WarmUpService(PrimeService primeService, CacheManager cacheManager, ComputeGate computeGate,
+                         CacheSnapshotService snapshots,
+                         @Value("${WARMUP_PROFILE_PATH:}") String profilePath,
+                         @Value("${WARMUP_TOP_N:20}") int topN,
+                         @Value("${WARMUP_MAX_LATENCY_MS:250}") double maxLatencyMs,
+                         @Value("${WARMUP_PROFILE_INTERVAL_SECONDS:300}") long profileIntervalSeconds,
+                         @Value("${WARMUP_HALF_LIFE_HOURS:24}") double halfLifeHours) {
+        this.primeService = primeService;
+        this.cacheManager = cacheManager;
+        this.computeGate = computeGate;
+        this.snapshots = snapshots;
+        this.profilePath = profilePath == null || profilePath.isBlank() ? null : Path.of(profilePath);
+        this.topN = topN;
+        this.maxLatencyMs = maxLatencyMs;
+        this.profileIntervalSeconds = profileIntervalSeconds;
+        this.decayPerInterval = Math.pow(0.5, profileIntervalSeconds / (halfLifeHours * 3600));
+    }
+
+    /**
+     * Counts one live {@code useCache} request for a query. Uncached requests never read the {@code primes}
+     * cache, so they are not recorded.
+     */
+    public void recordQuery(String algorithm, int limit, int threads) {
+        WarmQuery query = new WarmQuery(algorithm.toLowerCase(), limit, threads);
+        scores.merge(query, 1.0, Double::sum);
+        if (scores.size() > MAX_TRACKED) trim();
+    }
+
+    /**
+     * Counts a warm hit when {@code served}, what {@link PrimeService#findPrimes} just returned to a live
+     * {@code useCache} request, is the entry the warm-up cached rather than a fresh computation.
+     */
+    public void recordServed(String algorithm, int limit, int threads, PrimeArray served) {
+        WeakReference<PrimeArray> warmedEntry = warmedEntries.get(new WarmQuery(algorithm.toLowerCase(), limit, threads).cacheKey());
+        if (warmedEntry != null && warmedEntry.get() == served) warmHits.increment();
+    }
+
+    /**
+     * Feeds the time a live request spent computing or fetching its primes into the latency average.
+     */
+    public void recordLatency(long millis) {
+        double previous = liveLatencyMs;
+        boolean idle = System.currentTimeMillis() - lastLiveMillis > IDLE_AFTER_MS;
+        liveLatencyMs = idle ? millis : previous + LATENCY_WEIGHT * (millis - previous);
+        lastLiveMillis = System.currentTimeMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (scheduler != null) return;
+        loadProfile();
+
+        scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.execute(this::warmUp);
+        if (profileIntervalSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::saveAndDecay,
+                    profileIntervalSeconds, profileIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Computes the top queries of the profile, backing off while live traffic is slow. Runs once after startup.
+     */
+    void warmUp() {
+        try {
+            state = State.WAITING;
+            long waitUntil = System.currentTimeMillis() + SNAPSHOT_WAIT_MS;
+            while (snapshots.isEnabled() && !snapshots.isLoaded() && System.currentTimeMillis() < waitUntil) {
+                Thread.sleep(100);
+            }
+
+            List<WarmQuery> plan = topQueries(topN);
+            planned = plan.size();
+            if (!plan.isEmpty()) log.info("Warming {} frequent prime queries in the background", plan.size());
+
+            for (WarmQuery query : plan) {
+                long backoff = MIN_BACKOFF_MS;
+                while (shouldBackOff()) {
+                    state = State.BACKING_OFF;
+                    backoffs.increment();
+                    Thread.sleep(backoff);
+                    backoff = Math.min(2 * backoff, MAX_BACKOFF_MS);
+                }
+                state = State.WARMING;
+                warm(query);
+            }
+            state = State.DONE;
+            if (!plan.isEmpty()) {
+                log.info("Warm-up done: {} computed, {} already cached, {} failed",
+                        warmed.get(), alreadyCached.get(), failed.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void warm(WarmQuery query) {
+        String key = query.cacheKey();
+        BoundedCache primes = primesCache();
+        if (primes != null && primes.contains(key)) {
+            alreadyCached.incrementAndGet();
+            return;
+        }
+        try {
+            PrimeArray warmedPrimes = primeService.warmPrimes(query.algorithm(), query.limit(), query.threads());
+            warmedEntries.put(key, new WeakReference<>(warmedPrimes));
+            warmed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.warn("Warm-up of {} failed: {}", key, e.getMessage());
+        }
+    }
+
+    boolean shouldBackOff() {
+        boolean recent = System.currentTimeMillis() - lastLiveMillis <= IDLE_AFTER_MS;
+        GateStats gate = computeGate.stats();
+        PoolStats pool = ThreadPoolManager.computePoolStats();
+        ForkJoinPool forkJoin = ThreadPoolManager.forkJoinPool();
+        return (recent && liveLatencyMs > maxLatencyMs)
+                || gate.getQueued() > 0 || gate.getRunning() >= gate.getPermits()
+                || pool.getActiveCount() > 0 || pool.getQueueDepth() > 0
+                || forkJoin.getActiveThreadCount() > 0 || forkJoin.hasQueuedSubmissions();
+    }
+
+    /**
+     * Highest-scoring queries first.
+     */
+    List<WarmQuery> topQueries(int n) {
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<WarmQuery, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(Math.max(0, n))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public WarmUpStats stats() {
+        boolean recent = System.currentTimeMillis() - lastLiveMillis <= IDLE_AFTER_MS;
+        return WarmUpStats.builder()
+                .state(state.name())
+                .trackedQueries(scores.size())
+                .planned(planned)
+                .warmed(warmed.get())
+                .alreadyCached(alreadyCached.get())
+                .failed(failed.get())
+                .backoffs(backoffs.sum())
+                .warmHits(warmHits.sum())
+                .liveLatencyMs(recent ? liveLatencyMs : 0)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            if (scheduler != null) scheduler.shutdownNow();
+        }
+        saveProfile();
+    }
+
+    private void saveAndDecay() {
+        saveProfile();
+        scores.replaceAll((query, score) -> score * decayPerInterval);
+        scores.values().removeIf(score -> score < MIN_SCORE);
+    }
+
+    /**
+     * Writes the profile as one {@code algorithm limit threads score} line per query, highest score first.
+     */
+    void saveProfile() {
+        if (profilePath == null) return;
+        try {
+            Path absolute = profilePath.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+            try {
+                try (BufferedWriter out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                    for (WarmQuery query : topQueries(MAX_TRACKED)) {
+                        Double score = scores.get(query);
+                        if (score == null) continue;
+                        out.write(query.algorithm() + " " + query.limit() + " " + query.threads() + " " + score);
+                        out.newLine();
+                    }
+                }
+                Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            log.warn("Could not save warm-up profile {}: {}", profilePath, e.getMessage());
+        }
+    }
+
+    /**
+     * Merges a saved profile into the current scores. Lines that do not name a valid, non-paged query are skipped.
+     */
+    void loadProfile() {
+        if (profilePath == null || !Files.exists(profilePath)) return;
+        try {
+            int loaded = 0;
+            for (String line : Files.readAllLines(profilePath, StandardCharsets.UTF_8)) {
+                String[] fields = line.trim().split("\\s+");
+                if (fields.length != 4 || !Algos.isValidAlgo(fields[0])) continue;
+                try {
+                    WarmQuery query = new WarmQuery(fields[0].toLowerCase(),
+                            Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+                    double score = Double.parseDouble(fields[3]);
+                    if (query.limit() > PrimeService.PAGING_THRESHOLD || query.threads() < 1 || !(score > 0)) continue;
+                    scores.merge(query, score, Double::sum);
+                    loaded++;
+                } catch (NumberFormatException e) {
+                    // skip the line
+                }
+            }
+            trim();
+            log.info("Loaded {} queries from warm-up profile {}", loaded, profilePath);
+        } catch (IOException e) {
+            log.warn("Ignoring warm-up profile {}: {}", profilePath, e.getMessage());
+        }
+    }
+
+    private synchronized void trim() {
+        if (scores.size() <= MAX_TRACKED) return;
+        List<WarmQuery> lowest = scores.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(scores.size() - MAX_TRACKED / 2)
+                .map(Map.Entry::getKey)
+                .toList();
+        lowest.forEach(scores::remove);
+    }
+
+    private BoundedCache primesCache() {
+        Cache cache = cacheManager.getCache("primes");
+        return cache instanceof BoundedCache bounded ? bounded : null;
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.primeapi.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.model.CacheStats;
+import org.example.primeapi.model.CachedResponse;
+import org.example.primeapi.model.LongPrimeArray;
+import org.example.primeapi.model.PrimeArray;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} bounded by estimated retained bytes rather than entry count.
+ *
+ * <p>Entries live in an access-ordered {@link LinkedHashMap}; after each put the least recently used entries
+ * are evicted until the total estimate fits in {@code maxBytes}. A single value larger than the whole budget
+ * is not admitted at all, so one huge result cannot flush every other entry. Prime results dominate memory,
+ * so {@link #estimateBytes(Object)} sizes {@link PrimeArray}, {@link LongPrimeArray}, {@code long[]} bitmaps,
+ * {@code String} and {@link CachedResponse} values from their contents and falls back to a flat estimate for
+ * anything else.
+ *
+ * <p>All map access is guarded by the cache's monitor. Lookups are O(1) and the lock is never held while a
+ * value is computed. {@link #get(Object, Callable)} runs the loader once per key: concurrent callers for the same
+ * key wait on a per-key lock and then read the value it loaded, as {@code @Cacheable(sync = true)} expects.
+ */
+@Slf4j
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    /** Rough fixed cost of a map entry, its key and the value's object header. */
+    static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private static final long DEFAULT_VALUE_BYTES = 64;
+
+    private final String name;
+    private final long maxBytes;
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<Object, Object> loadLocks = new ConcurrentHashMap<>();
+
+    private long currentBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long modifications;
+
+    public BoundedCache(String name, long maxBytes) {
+        super(true);
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive: " + maxBytes);
+        }
+        this.name = name;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected synchronized Object lookup(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) return (T) cached.get();
+
+        Object lock = loadLocks.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (lock) {
+                // Another caller may have loaded the key while this one waited for the lock
+                Entry loaded = peek(key);
+                if (loaded != null) return (T) fromStoreValue(loaded.value);
+
+                T value;
+                try {
+                    value = valueLoader.call();
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+                put(key, value);
+                return value;
+            }
+        } finally {
+            loadLocks.remove(key, lock);
+        }
+    }
+
+    /**
+     * The entry for {@code key}, without counting a hit or miss; the caller already counted its lookup.
+     */
+    private synchronized Entry peek(Object key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(Object key, Object value) {
+        Object stored = toStoreValue(value);
+        long bytes = ENTRY_OVERHEAD_BYTES + estimateBytes(stored);
+
+        Entry previous = entries.remove(key);
+        if (previous != null) currentBytes -= previous.bytes;
+
+        if (bytes > maxBytes) {
+            log.warn("Not caching {} in '{}': ~{} bytes exceeds the {} byte budget", key, name, bytes, maxBytes);
+            return;
+        }
+
+        entries.put(key, new Entry(stored, bytes));
+        currentBytes += bytes;
+        modifications++;
+        evictToBudget();
+    }
+
+    /**
+     * Stores {@code value} only if {@code key} is absent, without counting a hit or miss. Used when restoring
+     * entries that a live request may already have recomputed.
+     */
+    @Override
+    public synchronized ValueWrapper putIfAbsent(Object key, Object value) {
+        Entry existing = entries.get(key);
+        if (existing != null) return toValueWrapper(existing.value);
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public synchronized void evict(Object key) {
+        Entry removed = entries.remove(key);
+        if (removed == null) return;
+        currentBytes -= removed.bytes;
+        modifications++;
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+        modifications++;
+    }
+
+    /**
+     * Whether {@code key} is cached, without counting a hit or miss or refreshing its recency.
+     */
+    public synchronized boolean contains(Object key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Copy of the current entries, least recently used first, so putting them back in order restores the LRU
+     * order. Does not count as access.
+     */
+    public synchronized List<Map.Entry<Object, Object>> entries() {
+        return entries.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().value))
+                .toList();
+    }
+
+    /**
+     * Counter bumped by every put, evict and clear, so callers can tell whether the contents changed since
+     * they last looked.
+     */
+    public synchronized long modifications() {
+        return modifications;
+    }
+
+    public synchronized CacheStats stats() {
+        return CacheStats.builder()
+                .name(name)
+                .entries(entries.size())
+                .estimatedBytes(currentBytes)
+                .maxBytes(maxBytes)
+                .hits(hits)
+                .misses(misses)
+                .evictions(evictions)
+                .build();
+    }
+
+    /**
+     * Estimated heap retained by a cached value.
+     */
+    public static long estimateBytes(Object value) {
+        if (value instanceof PrimeArray primes) return 16 + 4L * primes.backingArray().length; // a view pins its whole array
+        if (value instanceof LongPrimeArray primes) return 16 + 8L * primes.backingArray().length;
+        if (value instanceof long[] words) return 16 + 8L * words.length;
+        if (value instanceof String text) return 40 + 2L * text.length();
+        if (value instanceof CachedResponse response) return 256 + response.getBody().length; // body plus headers
+        return DEFAULT_VALUE_BYTES;
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<Object, Entry>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Object, Entry> victim = eldest.next();
+            currentBytes -= victim.getValue().bytes;
+            eldest.remove();
+            evictions++;
+            log.debug("Evicted {} from '{}' ({} of {} bytes used)", victim.getKey(), name, currentBytes, maxBytes);
+        }
+    }
+
+    private record Entry(Object value, long bytes) {
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.primeapi.util;
+
+import org.example.primeapi.model.PrimeArray;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes snapshots of prime caches: for each named cache, its entries in order, with every
+ * {@link PrimeArray} stored in {@link PrimeDeltaCodec} format (about one byte per prime).
+ *
+ * <p>File layout, big-endian:
+ * <pre>
+ * int magic "PRCS" | int version | int cache count
+ *   per cache: UTF name | int entry count
+ *     per entry: byte key type (0 int, 1 string) | int or UTF key | int length | delta-coded primes
+ * long CRC32 of every preceding byte
+ * </pre>
+ * A snapshot is written to a temporary file and moved into place when complete. {@link #read(Path)} parses
+ * the whole file and checks the CRC before returning anything, so a truncated or corrupted snapshot is
+ * rejected as a whole rather than half-loaded.
+ */
+public class CacheSnapshotFile {
+
+    static final int MAGIC = 0x50524353; // "PRCS"
+    static final int VERSION = 1;
+
+    private static final byte INT_KEY = 0;
+    private static final byte STRING_KEY = 1;
+
+    private CacheSnapshotFile() {
+    }
+
+    /**
+     * Writes {@code caches} (cache name to ordered entries) to {@code path}, replacing any existing snapshot.
+     * Entries whose key is not an {@code Integer} or {@code String} are skipped.
+     *
+     * @return number of entries written
+     */
+    public static int write(Path path, Map<String, List<Map.Entry<Object, PrimeArray>>> caches) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            int written;
+            try (OutputStream file = Files.newOutputStream(temporary)) {
+                written = write(file, caches);
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return written;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    static int write(OutputStream target, Map<String, List<Map.Entry<Object, PrimeArray>>> caches) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(target), crc));
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(caches.size());
+
+        int written = 0;
+        for (Map.Entry<String, List<Map.Entry<Object, PrimeArray>>> cache : caches.entrySet()) {
+            List<Map.Entry<Object, PrimeArray>> entries = cache.getValue().stream()
+                    .filter(entry -> entry.getKey() instanceof Integer || entry.getKey() instanceof String)
+                    .toList();
+            out.writeUTF(cache.getKey());
+            out.writeInt(entries.size());
+
+            for (Map.Entry<Object, PrimeArray> entry : entries) {
+                if (entry.getKey() instanceof Integer key) {
+                    out.writeByte(INT_KEY);
+                    out.writeInt(key);
+                } else {
+                    out.writeByte(STRING_KEY);
+                    out.writeUTF((String) entry.getKey());
+                }
+                encoded.reset();
+                PrimeDeltaCodec.encode(entry.getValue(), encoded);
+                out.writeInt(encoded.size());
+                encoded.writeTo(out);
+                written++;
+            }
+        }
+        out.writeLong(crc.getValue());
+        out.flush();
+        return written;
+    }
+
+    /**
+     * Reads a complete snapshot.
+     *
+     * @throws IOException if the file cannot be read, is not a snapshot, or fails its checksum
+     */
+    public static Map<String, List<Map.Entry<Object, PrimeArray>>> read(Path path) throws IOException {
+        try (InputStream file = Files.newInputStream(path)) {
+            return read(file, Files.size(path));
+        }
+    }
+
+    static Map<String, List<Map.Entry<Object, PrimeArray>>> read(InputStream source, long sizeBytes) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream in = new DataInputStream(new CheckedInputStream(new BufferedInputStream(source), crc));
+
+        try {
+            if (in.readInt() != MAGIC) throw new IOException("Not a cache snapshot");
+            int version = in.readInt();
+            if (version != VERSION) throw new IOException("Unsupported cache snapshot version " + version);
+
+            int cacheCount = checkCount(in.readInt(), sizeBytes);
+            Map<String, List<Map.Entry<Object, PrimeArray>>> caches = new LinkedHashMap<>();
+            for (int c = 0; c < cacheCount; c++) {
+                String name = in.readUTF();
+                int entryCount = checkCount(in.readInt(), sizeBytes);
+                List<Map.Entry<Object, PrimeArray>> entries = new ArrayList<>(entryCount);
+
+                for (int e = 0; e < entryCount; e++) {
+                    Object key = switch (in.readByte()) {
+                        case INT_KEY -> in.readInt();
+                        case STRING_KEY -> in.readUTF();
+                        default -> throw new IOException("Corrupt cache snapshot: unknown key type");
+                    };
+                    byte[] encoded = new byte[checkCount(in.readInt(), sizeBytes)];
+                    in.readFully(encoded);
+                    entries.add(Map.entry(key, PrimeDeltaCodec.decode(encoded)));
+                }
+                caches.put(name, entries);
+            }
+
+            long actual = crc.getValue();
+            long expected = in.readLong();
+            if (actual != expected) throw new IOException("Corrupt cache snapshot: checksum mismatch");
+            if (in.read() != -1) throw new IOException("Corrupt cache snapshot: trailing bytes");
+            return caches;
+        } catch (EOFException e) {
+            throw new IOException("Truncated cache snapshot", e);
+        }
+    }
+
+    /** Counts and lengths can never exceed the file size; anything larger is corrupt data. */
+    private static int checkCount(int count, long sizeBytes) throws IOException {
+        if (count < 0 || count > sizeBytes) throw new IOException("Corrupt cache snapshot: bad count " + count);
+        return count;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.primeapi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Builds entity tags for responses whose content is determined by their input.
+ *
+ * <p>{@link #ofQuery(Object...)} hashes the parts of a request that decide the representation (parameters,
+ * content type, encoding), so a conditional request can be answered with 304 before any work is done. The tag
+ * is weak ({@code W/}): bodies for the same query hold the same primes but differ in {@code timestamp} and
+ * {@code durationMs}, so they are semantically equivalent rather than byte-identical.
+ * {@link #ofContent(String)} hashes a rendered body and is strong. Both are truncated SHA-256 digests in quotes,
+ * ready for the {@code ETag} header.
+ */
+public class ETags {
+
+    /** Bump when the serialized form of an unchanged query changes, so clients drop stale copies. */
+    static final String FORMAT_VERSION = "v1";
+
+    private ETags() {
+    }
+
+    public static String ofQuery(Object... parts) {
+        StringBuilder identity = new StringBuilder(FORMAT_VERSION);
+        for (Object part : parts) identity.append('\u001F').append(part); // unit separator, never in a parameter
+        return "W/" + quoted("q-", identity.toString());
+    }
+
+    public static String ofContent(String content) {
+        return quoted("c-", content);
+    }
+
+    private static String quoted(String prefix, String input) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8));
+            return "\"" + prefix + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every Java platform", e);
+        }
+    }
+}
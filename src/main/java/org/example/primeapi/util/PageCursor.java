@@ -0,0 +1,60 @@
+package org.example.primeapi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Encodes and decodes the opaque pagination cursor for {@code /api/primes}.
+ *
+ * <p>A cursor carries the number the next page starts sieving from, together with the {@code from} and
+ * {@code limit} of the query that issued it, so a cursor replayed against a different query is rejected instead
+ * of silently paging through the wrong range. Clients must treat it as opaque; the {@code p:} prefix lets the
+ * format change later without misreading old cursors.
+ */
+public class PageCursor {
+
+    private static final String PREFIX = "p:";
+
+    private PageCursor() {
+    }
+
+    /**
+     * @param from the query's lower bound, or {@code null} when it lists every prime up to {@code limit}
+     */
+    public static String encode(int nextStart, Integer from, int limit) {
+        String fields = nextStart + ":" + (from == null ? "" : from) + ":" + limit;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + fields).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Returns the start of the next page for the query identified by {@code from} and {@code limit}.
+     *
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode(int, Integer, int)}, or
+     *                                  was issued for a query with a different {@code from} or {@code limit}
+     */
+    public static int decode(String cursor, Integer from, int limit) {
+        int nextStart;
+        Integer cursorFrom;
+        int cursorLimit;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!decoded.startsWith(PREFIX)) throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            String[] fields = decoded.substring(PREFIX.length()).split(":", -1);
+            if (fields.length != 3) throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            nextStart = Integer.parseInt(fields[0]);
+            cursorFrom = fields[1].isEmpty() ? null : Integer.valueOf(fields[1]);
+            cursorLimit = Integer.parseInt(fields[2]);
+            if (nextStart < 2) throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        } catch (IllegalArgumentException e) { // also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+
+        if (!Objects.equals(cursorFrom, from) || cursorLimit != limit) {
+            throw new IllegalArgumentException("Cursor was issued for a different query (from="
+                    + (cursorFrom == null ? "" : cursorFrom) + ", limit=" + cursorLimit + ")");
+        }
+        return nextStart;
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.primeapi.util;
+
+import org.example.primeapi.model.LongPrimeArray;
+import org.example.primeapi.model.PrimeArray;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Encodes and decodes the compact {@code application/x-prime-delta} wire format for ascending prime lists.
+ *
+ * <p>Layout, every number an unsigned LEB128 varint (7 bits per byte, high bit set on all but the last byte):
+ * <pre>
+ * count | first prime | gap₁ | gap₂ | ... | gap₍count−1₎
+ * </pre>
+ * Gaps between odd primes are always even, so they are stored halved. The one odd gap, 2 → 3, is stored as is.
+ * Every halved gap below 2<sup>31</sup> is under 128 except a handful of record gaps, so nearly every prime costs one
+ * byte, against 8 to 11 for JSON or XML.
+ *
+ * <p>Clients can decode a response body with {@link #decode(byte[])} or {@link #decode(InputStream)}; the
+ * count prefix lets the decoder allocate the result array once.
+ *
+ * <p>Windows beyond {@code Integer.MAX_VALUE} use the same layout with the first prime as a varint of up to
+ * 10 bytes; {@link #encode(LongPrimeArray, OutputStream)} and {@link #decodeLong(byte[])} handle them. For
+ * values below 2<sup>31</sup> both encoders produce identical bytes.
+ */
+public class PrimeDeltaCodec {
+
+    public static final String MEDIA_TYPE = "application/x-prime-delta";
+
+    /** Bytes buffered before each write to the underlying stream. */
+    private static final int BUFFER_BYTES = 1 << 13;
+
+    /** Largest varint is 10 bytes (a 64-bit first prime), so flush once fewer than this many bytes are free. */
+    private static final int MAX_VARINT_BYTES = 10;
+
+    private PrimeDeltaCodec() {
+    }
+
+    /**
+     * Writes the primes to {@code out} in delta format. Does not flush or close the stream.
+     *
+     * @throws IllegalArgumentException if the values are not strictly ascending and non-negative
+     */
+    public static void encode(PrimeArray primes, OutputStream out) throws IOException {
+        int[] values = primes.backingArray();
+        int from = primes.offset();
+        int to = from + primes.size();
+
+        byte[] buffer = new byte[BUFFER_BYTES];
+        int position = writeVarint(buffer, 0, primes.size());
+        if (from == to) {
+            out.write(buffer, 0, position);
+            return;
+        }
+
+        int previous = values[from];
+        if (previous < 0) throw new IllegalArgumentException("Primes must be non-negative: " + previous);
+        position = writeVarint(buffer, position, previous);
+
+        for (int i = from + 1; i < to; i++) {
+            int prime = values[i];
+            if (prime <= previous) {
+                throw new IllegalArgumentException("Primes must be strictly ascending: " + previous + " then " + prime);
+            }
+            int gap = prime - previous;
+            if (position > BUFFER_BYTES - MAX_VARINT_BYTES) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+            position = writeVarint(buffer, position, previous == 2 ? gap : gap >>> 1);
+            previous = prime;
+        }
+        out.write(buffer, 0, position);
+    }
+
+    /**
+     * 64-bit counterpart of {@link #encode(PrimeArray, OutputStream)} for primes beyond {@code Integer.MAX_VALUE}.
+     *
+     * @throws IllegalArgumentException if the values are not strictly ascending and non-negative
+     */
+    public static void encode(LongPrimeArray primes, OutputStream out) throws IOException {
+        long[] values = primes.backingArray();
+        int from = primes.offset();
+        int to = from + primes.size();
+
+        byte[] buffer = new byte[BUFFER_BYTES];
+        int position = writeVarint(buffer, 0, primes.size());
+        if (from == to) {
+            out.write(buffer, 0, position);
+            return;
+        }
+
+        long previous = values[from];
+        if (previous < 0) throw new IllegalArgumentException("Primes must be non-negative: " + previous);
+        position = writeVarlong(buffer, position, previous);
+
+        for (int i = from + 1; i < to; i++) {
+            long prime = values[i];
+            if (prime <= previous) {
+                throw new IllegalArgumentException("Primes must be strictly ascending: " + previous + " then " + prime);
+            }
+            long gap = prime - previous;
+            if (position > BUFFER_BYTES - MAX_VARINT_BYTES) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+            position = writeVarlong(buffer, position, previous == 2 ? gap : gap >>> 1);
+            previous = prime;
+        }
+        out.write(buffer, 0, position);
+    }
+
+    /**
+     * Decodes a complete delta-format body whose primes may exceed {@code Integer.MAX_VALUE}.
+     *
+     * @throws IOException if the data is truncated, malformed or followed by trailing bytes
+     */
+    public static LongPrimeArray decodeLong(byte[] encoded) throws IOException {
+        Reader reader = new Reader(encoded);
+        int count = reader.readVarint();
+        if (count < 0 || count > encoded.length - reader.position) {
+            throw new IOException("Malformed prime delta data: bad count " + count);
+        }
+
+        long[] primes = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long delta = reader.readVarlong();
+            if (delta < 0 || (i > 0 && delta == 0)) throw new IOException("Malformed prime delta data at index " + i);
+            try {
+                previous = i == 0 ? delta : Math.addExact(previous, previous == 2 ? delta : Math.multiplyExact(2, delta));
+            } catch (ArithmeticException e) {
+                throw new IOException("Malformed prime delta data at index " + i, e);
+            }
+            primes[i] = previous;
+        }
+        if (reader.position != encoded.length) throw new IOException("Trailing bytes after prime delta data");
+        return LongPrimeArray.wrap(primes);
+    }
+
+    /**
+     * Decodes a complete delta-format body.
+     *
+     * @throws IOException if the data is truncated, malformed or followed by trailing bytes
+     */
+    public static PrimeArray decode(byte[] encoded) throws IOException {
+        Reader reader = new Reader(encoded);
+        int count = reader.readVarint();
+        // Every prime takes at least one byte, so a larger count can only be corrupt data.
+        if (count < 0 || count > encoded.length - reader.position) {
+            throw new IOException("Malformed prime delta data: bad count " + count);
+        }
+
+        int[] primes = new int[count];
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            int delta = reader.readVarint();
+            long next = i == 0 ? delta : (long) previous + (previous == 2 ? delta : 2L * delta);
+            if (delta < 0 || (i > 0 && delta == 0) || next > Integer.MAX_VALUE) {
+                throw new IOException("Malformed prime delta data at index " + i);
+            }
+            previous = (int) next;
+            primes[i] = previous;
+        }
+        if (reader.position != encoded.length) throw new IOException("Trailing bytes after prime delta data");
+        return PrimeArray.wrap(primes);
+    }
+
+    /**
+     * Reads the remaining stream and decodes it as one delta-format body.
+     */
+    public static PrimeArray decode(InputStream in) throws IOException {
+        return decode(in.readAllBytes());
+    }
+
+    private static int writeVarint(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static int writeVarlong(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private int readVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                if (position == data.length) throw new EOFException("Truncated prime delta data");
+                int next = data[position++];
+                // A fifth byte may only carry the top 4 bits; anything more is a 64-bit value, see decodeLong
+                if (shift == 28 && (next & 0x70) != 0) {
+                    throw new IOException("Malformed prime delta data: varint exceeds 32 bits");
+                }
+                value |= (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed prime delta data: varint longer than 5 bytes");
+        }
+
+        private long readVarlong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                if (position == data.length) throw new EOFException("Truncated prime delta data");
+                long next = data[position++];
+                value |= (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed prime delta data: varint longer than 10 bytes");
+        }
+    }
+}
@@ -1,34 +1,42 @@
 package org.example.primeapi.util;
 
-import java.util.List;
+import org.example.primeapi.model.PrimeArray;
+
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class PrimeResultWrapper {
 
-    private final List<Integer> fullList;
+    private final PrimeArray fullList;
     private final int batchSize;
 
-    public PrimeResultWrapper(List<Integer> fullList, int batchSize) {
+    public PrimeResultWrapper(PrimeArray fullList, int batchSize) {
         this.fullList = fullList;
         this.batchSize = batchSize;
     }
 
-    public List<Integer> getFirstBatch() {
-        return fullList.subList(0, Math.min(batchSize, fullList.size()));
+    public PrimeArray getFirstBatch() {
+        return batch(0);
     }
 
-    public Stream<List<Integer>> streamBatches() {
+    public Stream<PrimeArray> streamBatches() {
         int total = fullList.size();
         return IntStream.range(0, (total + batchSize - 1) / batchSize)
-                .mapToObj(i -> fullList.subList(i * batchSize, Math.min((i + 1) * batchSize, total)));
+                .mapToObj(this::batch);
     }
 
     public int getTotalCount() {
         return fullList.size();
     }
 
-    public List<Integer> getFullList() {
+    public PrimeArray getFullList() {
         return fullList;
     }
-}
\ No newline at end of file
+
+    private PrimeArray batch(int index) {
+        int total = fullList.size();
+        int from = Math.min(index * batchSize, total);
+        int to = Math.min(from + batchSize, total);
+        return fullList.slice(from, to).compact(); // batches outlive the full list, so don't pin it
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.primeapi.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.model.CoalescingStats;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single computation.
+ *
+ * <p>The first caller for a key becomes the leader and runs the supplier; callers that arrive while it is
+ * still running wait on the same future and receive the same result (or exception). The key is removed as
+ * soon as the computation completes, so later calls compute again, or hit a cache in front of this.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * SingleFlight<String, PrimeArray> inFlight = new SingleFlight<>();
+ * PrimeArray primes = inFlight.execute("sieve-1000000", () -> sieve.generate(1_000_000, 4));
+ * }</pre>
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("Joining in-flight computation for {}", key);
+            return await(existing);
+        }
+
+        computations.increment();
+        try {
+            V value = supplier.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    public CoalescingStats stats() {
+        return CoalescingStats.builder()
+                .inFlight(inFlight.size())
+                .computations(computations.sum())
+                .coalesced(coalesced.sum())
+                .build();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -1,37 +1,164 @@
 package org.example.primeapi.util;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.model.PoolStats;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Centralized thread pool manager for prime computation tasks.
  * Provides named thread pools for better logging and diagnostics.
+ *
+ * <p>All algorithm chunks run on one long-lived compute pool sized to the available cores. A request's
+ * {@code threads} value decides how many chunks it is split into; the pool bounds how many run at once,
+ * so concurrent requests queue instead of each spawning their own threads. The pool is shut down when
+ * the Spring context closes (see {@code ComputePoolConfig}) and recreated lazily if used afterwards.
  */
 @Slf4j
 public class ThreadPoolManager {
 
     private static final AtomicInteger poolCounter = new AtomicInteger(1);
 
-    public static ExecutorService createFixedPool(int threads, String label) {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private static int computeThreads = Runtime.getRuntime().availableProcessors();
+
+    private static ThreadPoolExecutor computePool;
+
+    private static ForkJoinPool forkJoinPool;
+
+    /** Set while a cheap request computes, so its chunks stay on the calling thread. */
+    private static final ThreadLocal<Boolean> inline = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Runs {@code work} with chunking disabled on this thread: algorithms process the whole range on the caller
+     * instead of queueing chunks on the shared pools. {@code ComputeGate} uses it for cheap requests, so they never
+     * wait behind chunks that heavy requests have already queued.
+     */
+    public static <T> T runInline(Supplier<T> work) {
+        boolean previous = inline.get();
+        inline.set(true);
+        try {
+            return work.get();
+        } finally {
+            inline.set(previous);
+        }
+    }
+
+    public static boolean isInline() {
+        return inline.get();
+    }
+
+    /**
+     * Returns the shared, application-scoped compute pool, creating it on first use.
+     */
+    public static synchronized ExecutorService computePool() {
+        if (computePool == null || computePool.isShutdown()) {
+            computePool = createComputePool(computeThreads);
+        }
+        return computePool;
+    }
+
+    /**
+     * Returns the shared work-stealing pool used by fork/join execution, creating it on first use.
+     * Its parallelism matches the compute pool size.
+     */
+    public static synchronized ForkJoinPool forkJoinPool() {
+        if (forkJoinPool == null || forkJoinPool.isShutdown()) {
+            forkJoinPool = createForkJoinPool(computeThreads);
+        }
+        return forkJoinPool;
+    }
+
+    /**
+     * Sets the compute pool size. Takes effect immediately if the pool is already running.
+     */
+    public static synchronized void configureComputePool(int threads) {
         if (threads <= 0) {
             throw new IllegalArgumentException("Thread count must be positive: " + threads);
         }
+        computeThreads = threads;
+        if (computePool != null && !computePool.isShutdown()) {
+            if (threads > computePool.getMaximumPoolSize()) {
+                computePool.setMaximumPoolSize(threads);
+                computePool.setCorePoolSize(threads);
+            } else {
+                computePool.setCorePoolSize(threads);
+                computePool.setMaximumPoolSize(threads);
+            }
+        }
+        if (forkJoinPool != null && forkJoinPool.getParallelism() != threads) {
+            forkJoinPool.shutdown();
+            forkJoinPool = null;
+        }
+        log.info("Compute pool sized to {} threads", threads);
+    }
 
-        int poolId = poolCounter.getAndIncrement();
-        String safeLabel = (label == null || label.isBlank()) ? "default" : label;
+    /**
+     * Stops accepting work, lets queued chunks finish and waits for the workers to exit.
+     */
+    public static synchronized void shutdownComputePool() {
+        if (forkJoinPool != null && !forkJoinPool.isShutdown()) {
+            forkJoinPool.shutdown();
+        }
+        if (computePool == null || computePool.isShutdown()) return;
+
+        log.info("Shutting down compute pool ({} active, {} queued)",
+                computePool.getActiveCount(), computePool.getQueue().size());
+        computePool.shutdown();
+        try {
+            if (!computePool.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Compute pool did not terminate in {}s, forcing shutdown", SHUTDOWN_TIMEOUT_SECONDS);
+                computePool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            computePool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static synchronized PoolStats computePoolStats() {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) computePool();
+        return PoolStats.builder()
+                .poolSize(pool.getPoolSize())
+                .maxPoolSize(pool.getMaximumPoolSize())
+                .activeCount(pool.getActiveCount())
+                .queueDepth(pool.getQueue().size())
+                .completedTasks(pool.getCompletedTaskCount())
+                .build();
+    }
 
+    private static ThreadPoolExecutor createComputePool(int threads) {
+        int poolId = poolCounter.getAndIncrement();
         ThreadFactory factory = runnable -> {
             Thread t = new Thread(runnable);
-            t.setName(safeLabel + "-pool-" + poolId + "-thread-" + t.getId());
-            log.debug("Created thread: {}", t.getName());
+            t.setName("compute-pool-" + poolId + "-thread-" + t.getId());
+            t.setDaemon(true);
+            return t;
+        };
+
+        log.info("Creating shared compute pool with {} threads", threads);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), factory);
+    }
+
+    private static ForkJoinPool createForkJoinPool(int parallelism) {
+        int poolId = poolCounter.getAndIncrement();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("fork-join-pool-" + poolId + "-thread-" + t.getId());
             return t;
         };
 
-        log.info("Creating fixed thread pool with {} threads and label '{}'", threads, safeLabel);
-        return Executors.newFixedThreadPool(threads, factory);
+        log.info("Creating shared fork/join pool with parallelism {}", parallelism);
+        return new ForkJoinPool(parallelism, factory, null, false);
     }
-}
\ No newline at end of file
+}
@@ -112,6 +112,10 @@ public class HtmlHelper {
                 <option value="sieve">Sieve</option>
                 <option value="miller">Miller</option>
                 <option value="atkin">Atkin</option>
+                <option value="bitsieve">Bit Sieve</option>
+                <option value="wheel30">Wheel 30</option>
+                <option value="table">Prime Table</option>
+                <option value="miller64">Miller 64</option>
             </select>
         </div>
 
@@ -28,6 +28,10 @@ public class LandingPageBuilder {
                         <li><code>sieve</code> – efficient for mid-range inputs</li>
                         <li><code>atkin</code> – optimized for large ranges</li>
                         <li><code>miller</code> – probabilistic primality testing</li>
+                        <li><code>bitsieve</code> – bit-packed, odd-only segmented sieve</li>
+                        <li><code>wheel30</code> – mod-30 wheel-factorized sieve</li>
+                        <li><code>table</code> – precomputed, memory-mapped prime table (falls back to sieve)</li>
+                        <li><code>miller64</code> – deterministic 64-bit Miller–Rabin with Montgomery multiplication</li>
                     </ul>
                 </div>
 
@@ -38,7 +42,7 @@ public class LandingPageBuilder {
                     <p>Parameters:</p>
                     <ul>
                         <li><code>limit</code>: upper bound for prime generation (≥ 0)</li>
-                        <li><code>algorithm</code>: one of <code>trial</code>, <code>sieve</code>, <code>atkin</code>, <code>miller</code></li>
+                        <li><code>algorithm</code>: one of <code>trial</code>, <code>sieve</code>, <code>atkin</code>, <code>miller</code>, <code>bitsieve</code>, <code>wheel30</code>, <code>table</code>, <code>miller64</code></li>
                         <li><code>threads</code>: number of threads to use (≥ 1)</li>
                     </ul>
                 </div>
@@ -1,11 +1,26 @@
 package org.example.primeapi.algo;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.model.PrimeArray;
+import org.example.primeapi.service.ComputeGate;
 import org.example.primeapi.service.PrimeService;
+import org.example.primeapi.util.ThreadPoolManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(
@@ -43,4 +58,96 @@ public class AbstractPrimeAlgorithmTest {
     void shouldNotSkipForValidInputs() {
         assertTrue(!primeService.shouldSkip("test", 1000, 4));
     }
-}
\ No newline at end of file
+
+    @Test
+    void rangesSmallerThanThreadCountNeverGetEmptyChunks() {
+        // A processor that, like the sieves, cannot handle start > end
+        RangeAlgorithm algorithm = new RangeAlgorithm((start, end) -> {
+            if (start > end) throw new IllegalArgumentException("empty chunk " + start + ".." + end);
+            return PrimeArray.wrap(IntStream.rangeClosed(start, end).toArray());
+        });
+
+        assertEquals(List.of(2), algorithm.generate(2, 3));
+        assertEquals(List.of(2, 3, 4, 5, 6, 7), algorithm.generate(7, 3));
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void failingChunkSurfacesInsteadOfDroppingResults() {
+        RangeAlgorithm algorithm = new RangeAlgorithm((start, end) -> {
+            if (start > 50) throw new IllegalStateException("boom");
+            return PrimeArray.empty();
+        });
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> algorithm.generate(100, 4));
+        assertEquals("boom", e.getCause().getMessage());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void chunksEndingAtIntegerMaxValueDoNotWrap() {
+        // Each chunk reports its own bounds, so the result lists [start₁, end₁, start₂, end₂, ...]
+        RangeAlgorithm algorithm = new RangeAlgorithm(PrimeArray::of);
+
+        PrimeArray bounds = algorithm.generate(Integer.MAX_VALUE, 3);
+
+        assertEquals(6, bounds.size());
+        assertEquals(2, bounds.getInt(0));
+        assertEquals(Integer.MAX_VALUE, bounds.getInt(5));
+        for (int chunk = 0; chunk < 3; chunk++) {
+            assertTrue(bounds.getInt(2 * chunk) <= bounds.getInt(2 * chunk + 1), bounds.toString());
+            if (chunk > 0) assertEquals(bounds.getInt(2 * chunk - 1) + 1, bounds.getInt(2 * chunk), bounds.toString());
+        }
+    }
+
+    @Test
+    void cheapMultiThreadedRequestsDoNotQueueBehindBusyComputePool() {
+        // Occupy every compute thread and leave more work queued behind them, as heavy requests would
+        ExecutorService pool = ThreadPoolManager.computePool();
+        CountDownLatch release = new CountDownLatch(1);
+        int blockers = ThreadPoolManager.computePoolStats().getMaxPoolSize() * 2;
+        for (int i = 0; i < blockers; i++) {
+            pool.submit(() -> {
+                release.await();
+                return null;
+            });
+        }
+
+        try {
+            Set<Thread> chunkThreads = ConcurrentHashMap.newKeySet();
+            RangeAlgorithm algorithm = new RangeAlgorithm((start, end) -> {
+                chunkThreads.add(Thread.currentThread());
+                return PrimeArray.of(start, end);
+            });
+            ComputeGate gate = new ComputeGate(5_000_000, 1);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                PrimeArray bounds = gate.run(10_000, () -> algorithm.generate(10_000, 4));
+                assertEquals(List.of(2, 10_000), bounds);
+                assertEquals(Set.of(Thread.currentThread()), chunkThreads);
+            });
+            assertFalse(ThreadPoolManager.isInline());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static final class RangeAlgorithm extends AbstractPrimeAlgorithm {
+
+        private final ChunkProcessor processor;
+
+        private RangeAlgorithm(ChunkProcessor processor) {
+            this.processor = processor;
+        }
+
+        @Override
+        public String name() {
+            return "range";
+        }
+
+        @Override
+        public PrimeArray generate(int upperLimit, int threads) {
+            return runThreaded("Range", 2, upperLimit, threads, processor);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package org.example.primeapi.algo;
 
 import org.example.primeapi.algo.Algorithms.AtkinAlgorithm;
+import org.example.primeapi.algo.Algorithms.SieveAlgorithm;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 @SpringBootTest
 @ActiveProfiles("test")
 class AtkinAlgorithmTest extends PrimeAlgorithmTestSupport {
@@ -12,9 +18,30 @@ class AtkinAlgorithmTest extends PrimeAlgorithmTestSupport {
     @Autowired
     private AtkinAlgorithm atkinAlgorithm;
 
+    @Autowired
+    private SieveAlgorithm sieveAlgorithm;
+
     @Override
     protected PrimeAlgorithm getAlgorithm() {
         return atkinAlgorithm;
     }
-}
 
+    @Test
+    void matchesSieveForTinyLimits() {
+        for (int limit = 2; limit <= 50; limit++) {
+            assertEquals(sieveAlgorithm.generate(limit, 1), atkinAlgorithm.generate(limit, 1),
+                    "atkin should match sieve for limit " + limit);
+        }
+    }
+
+    @Test
+    void segmentedChunksMatchSieveAcrossBlockBoundaries() {
+        for (int limit : List.of(524_289, 1_048_577, 3_000_017)) {
+            List<Integer> expected = sieveAlgorithm.generate(limit, 1);
+            for (int threads : List.of(1, 3, 8)) {
+                assertEquals(expected, atkinAlgorithm.generate(limit, threads),
+                        "atkin should match sieve for limit " + limit + " with " + threads + " thread(s)");
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.primeapi.algo;
+
+import org.example.primeapi.algo.Algorithms.BitSieveAlgorithm;
+import org.example.primeapi.algo.Algorithms.SieveAlgorithm;
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BitSieveAlgorithmTest extends PrimeAlgorithmTestSupport {
+
+    @Autowired
+    private BitSieveAlgorithm bitSieveAlgorithm;
+
+    @Autowired
+    private SieveAlgorithm sieveAlgorithm;
+
+    @Override
+    protected PrimeAlgorithm getAlgorithm() {
+        return bitSieveAlgorithm;
+    }
+
+    @Override
+    protected List<Integer> blockBoundaryLimits() {
+        // Each block holds BLOCK_BITS odd numbers, i.e. spans 2 * BLOCK_BITS integers
+        int span = 2 * BitSieveUtil.BLOCK_BITS;
+        return List.of(span - 1, span, span + 1, 2 * span - 1, 2 * span, 2_000_003);
+    }
+
+    @Test
+    void matchesSieveAcrossBlockBoundaries() {
+        for (int limit : List.of(10, 97, 1_048_575, 1_048_576, 2_000_003)) {
+            for (int threads : List.of(1, 3)) {
+                assertEquals(sieveAlgorithm.generate(limit, threads), bitSieveAlgorithm.generate(limit, threads),
+                        "bitsieve should match sieve for limit " + limit + " with " + threads + " thread(s)");
+            }
+        }
+    }
+
+    private static List<Long> probablePrimes(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .filter(n -> BigInteger.valueOf(n).isProbablePrime(50))
+                .boxed()
+                .toList();
+    }
+
+    @Test
+    void longRangeMatchesAcrossTwoToThe31And32() {
+        for (long boundary : List.of(1L << 31, 1L << 32)) {
+            long from = boundary - 20_000;
+            long to = boundary + 20_000;
+            List<Long> expected = probablePrimes(from, to);
+            for (int threads : List.of(1, 3)) {
+                assertEquals(expected, bitSieveAlgorithm.generateLongRange(from, to, threads),
+                        "window around " + boundary + " with " + threads + " thread(s)");
+                assertEquals(expected.size(), bitSieveAlgorithm.countLongRange(from, to, threads),
+                        "count around " + boundary + " with " + threads + " thread(s)");
+            }
+        }
+    }
+
+    @Test
+    void longRangeAgreesWithIntKernelBelowTwoToThe31() {
+        int from = Integer.MAX_VALUE - 2_000_000;
+        assertEquals(bitSieveAlgorithm.generateRange(from, Integer.MAX_VALUE, 2).stream().map(Integer::longValue).toList(),
+                bitSieveAlgorithm.generateLongRange(from, Integer.MAX_VALUE, 2));
+        assertEquals(bitSieveAlgorithm.count(10_000_000, 3), bitSieveAlgorithm.countLongRange(0, 10_000_000, 3));
+    }
+
+    @Test
+    void longRangeNearOneTrillion() {
+        long to = 1_000_000_000_000L;
+        List<Long> expected = probablePrimes(to - 5_000, to);
+        assertEquals(expected, bitSieveAlgorithm.generateLongRange(to - 5_000, to, 2));
+        // 999999999989 is the largest prime below 10¹²
+        assertEquals(999_999_999_989L, expected.get(expected.size() - 1));
+    }
+}
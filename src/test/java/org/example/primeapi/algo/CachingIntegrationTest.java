@@ -170,4 +170,16 @@ class CachingIntegrationTest {
         Assertions.assertEquals(sievePrimes, atkinPrimes, "Both algorithms should produce same base primes for small limit");
         Assertions.assertNotNull(cacheManager.getCache("basePrimes").get(limit), "Shared cache should contain entry for limit " + limit);
     }
-}
\ No newline at end of file
+
+    @Test
+    void smallerLimit_shouldBeAnsweredFromLargerStoredResult() {
+        primeService.clearPrimeCache();
+        primeService.findPrimes("sieve", 2_000_000, 4, true);
+
+        List<Integer> sliced = primeService.findPrimes("trial", 100_003, 1, true);
+
+        Assertions.assertEquals(sieveAlgorithm.generate(100_003, 1), sliced, "Prefix slice should match a fresh computation");
+        Assertions.assertEquals(100_003, sliced.get(sliced.size() - 1));
+        Assertions.assertTrue(primeService.getResultStore().stats().getHits() >= 1, "Result store should have answered the smaller limit");
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.primeapi.algo;
+
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
+import org.example.primeapi.algo.Algorithms.MillerRabin64Algorithm;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MillerRabin64AlgorithmTest extends PrimeAlgorithmTestSupport {
+
+    private static final int[] PRIMES_TO_1000 = BitSieveUtil.sieveRange(2, 1_000, new int[]{3, 5, 7, 11, 13, 17, 19, 23, 29, 31}).toIntArray();
+
+    @Override
+    protected PrimeAlgorithm getAlgorithm() {
+        return new MillerRabin64Algorithm();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 8})
+    void matchesSieveUpToLimit(int threads) {
+        int limit = 300_007;
+        assertEquals(BitSieveUtil.sieveRange(2, limit, PRIMES_TO_1000), getAlgorithm().generate(limit, threads));
+    }
+}
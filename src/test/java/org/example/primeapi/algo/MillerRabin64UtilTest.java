@@ -0,0 +1,61 @@
+package org.example.primeapi.algo;
+
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
+import org.example.primeapi.algo.Algorithms.MillerRabin64Util;
+import org.example.primeapi.model.PrimeArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MillerRabin64UtilTest {
+
+    @Test
+    void agreesWithSieveBelowTwoMillion() {
+        int limit = 2_000_000;
+        int[] basePrimes = BitSieveUtil.sieveRange(2, 1_415, new int[]{3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37}).toIntArray();
+        PrimeArray primes = BitSieveUtil.sieveRange(2, limit, basePrimes);
+
+        int next = 0;
+        for (int n = -5; n <= limit; n++) {
+            boolean expected = next < primes.size() && primes.getInt(next) == n;
+            if (expected) next++;
+            assertEquals(expected, MillerRabin64Util.isPrime(n), "n = " + n);
+        }
+    }
+
+    /** Strong pseudoprimes to several small bases, and Carmichael numbers, all composite. */
+    @ParameterizedTest
+    @ValueSource(longs = {561, 1_105, 1_729, 2_047, 1_373_653, 25_326_001, 3_215_031_751L, 4_759_123_141L,
+            2_152_302_898_747L, 3_474_749_660_383L, 341_550_071_728_321L, 3_825_123_056_546_413_051L,
+            Long.MAX_VALUE, (1L << 62) + 1, 4_294_967_297L})
+    void rejectsPseudoprimes(long n) {
+        assertFalse(MillerRabin64Util.isPrime(n), "n = " + n);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {4_294_967_291L, 4_294_967_311L, 999_999_999_989L, 2_305_843_009_213_693_951L,
+            9_223_372_036_854_775_783L, 4_611_686_018_427_387_847L})
+    void acceptsLargePrimes(long n) {
+        assertTrue(MillerRabin64Util.isPrime(n), "n = " + n);
+    }
+
+    @Test
+    void agreesWithBigIntegerAcrossTheLongRange() {
+        SplittableRandom random = new SplittableRandom(22);
+        for (int bits = 20; bits <= 63; bits++) {
+            long high = bits == 63 ? Long.MAX_VALUE : (1L << bits) - 1;
+            long low = 1L << (bits - 1);
+            for (int i = 0; i < 2_000; i++) {
+                long n = random.nextLong(low, high) | 1;
+                assertEquals(BigInteger.valueOf(n).isProbablePrime(100), MillerRabin64Util.isPrime(n), "n = " + n);
+            }
+        }
+    }
+}
@@ -2,18 +2,28 @@ package org.example.primeapi.algo;
 
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 @Slf4j
 @ActiveProfiles("test")
 public abstract class PrimeAlgorithmTestSupport {
     protected abstract PrimeAlgorithm getAlgorithm();
 
+    /** Limits on and next to the algorithm's internal block edges, for the checks that cross them. */
+    protected List<Integer> blockBoundaryLimits() {
+        return List.of();
+    }
+
     @Test
     void generatesPrimesUpTo100() {
         List<Integer> primes = getAlgorithm().generate(100, 1);
@@ -34,4 +44,53 @@ public abstract class PrimeAlgorithmTestSupport {
         List<Integer> primes = getAlgorithm().generate(200, 4);
         assertEquals(primes.stream().distinct().sorted().toList(), primes);
     }
-}
\ No newline at end of file
+
+    /** Chunked splits and fork/join leaves alike must reassemble into the single-threaded list. */
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 8, 64})
+    void threadedGenerationMatchesSingleThread(int threads) {
+        int limit = 300_007; // several fork/join leaves, last one partial
+        List<Integer> expected = getAlgorithm().generate(limit, 1);
+        assertEquals(expected, getAlgorithm().generate(limit, threads));
+    }
+
+    @Test
+    void countMatchesGeneratedSize() {
+        List<Integer> limits = new ArrayList<>(List.of(2, 3, 10, 97));
+        limits.addAll(blockBoundaryLimits());
+        for (int limit : limits) {
+            for (int threads : List.of(1, 3)) {
+                if (threads > limit) continue;
+                assertEquals(getAlgorithm().generate(limit, threads).size(), getAlgorithm().count(limit, threads),
+                        "count should match generated size for limit " + limit + " with " + threads + " thread(s)");
+            }
+        }
+    }
+
+    @Test
+    void rangeMatchesSliceOfFullList() {
+        List<Integer> all = getAlgorithm().generate(20_000, 1);
+        int[][] windows = {{0, 100}, {2, 2}, {3, 30}, {4, 4}, {24, 28}, {89, 97}, {1_000, 1_000}, {9_973, 20_000}, {19_000, 19_999}};
+        for (int[] window : windows) {
+            List<Integer> expected = all.stream().filter(p -> p >= window[0] && p <= window[1]).toList();
+            for (int threads : List.of(1, 3)) {
+                assertEquals(expected, getAlgorithm().generateRange(window[0], window[1], threads),
+                        "window " + window[0] + ".." + window[1] + " with " + threads + " thread(s)");
+            }
+        }
+        assertTrue(getAlgorithm().generateRange(500, 499, 1).isEmpty());
+    }
+
+    @Test
+    void rangeAtTopOfIntRangeDoesNotOverflow() {
+        int from = Integer.MAX_VALUE - 3_000;
+        List<Integer> expected = IntStream.rangeClosed(from, Integer.MAX_VALUE)
+                .filter(n -> BigInteger.valueOf(n).isProbablePrime(50))
+                .boxed()
+                .toList();
+        for (int threads : List.of(1, 3)) {
+            assertEquals(expected, getAlgorithm().generateRange(from, Integer.MAX_VALUE, threads),
+                    "window ending at Integer.MAX_VALUE with " + threads + " thread(s)");
+        }
+    }
+}
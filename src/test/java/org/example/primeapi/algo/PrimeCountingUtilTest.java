@@ -0,0 +1,43 @@
+package org.example.primeapi.algo;
+
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
+import org.example.primeapi.algo.Algorithms.PrimeCountingUtil;
+import org.example.primeapi.model.PrimeArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrimeCountingUtilTest {
+
+    /** Published values of π(10^k). */
+    @ParameterizedTest
+    @CsvSource({
+            "1, 0", "10, 4", "100, 25", "1000, 168", "10000, 1229", "100000, 9592", "1000000, 78498",
+            "10000000, 664579", "100000000, 5761455", "1000000000, 50847534", "10000000000, 455052511",
+            "100000000000, 4118054813", "1000000000000, 37607912018"
+    })
+    void matchesKnownPowersOfTen(long x, long expected) {
+        assertEquals(expected, PrimeCountingUtil.primePi(x), "pi(" + x + ")");
+    }
+
+    @Test
+    void matchesKnownValuesAtPowersOfTwo() {
+        assertEquals(105_097_565, PrimeCountingUtil.primePi(Integer.MAX_VALUE));
+        assertEquals(203_280_221, PrimeCountingUtil.primePi(1L << 32));
+        assertEquals(2_874_398_515L, PrimeCountingUtil.primePi(1L << 36));
+    }
+
+    @Test
+    void agreesWithSieveCountBelowOneHundredThousand() {
+        int limit = 100_000;
+        int[] basePrimes = BitSieveUtil.sieveRange(2, 317, new int[]{3, 5, 7, 11, 13, 17}).toIntArray();
+        PrimeArray primes = BitSieveUtil.sieveRange(2, limit, basePrimes);
+
+        // Every x below 1,000 covers each perfect square and its neighbours there
+        for (int x = -3; x <= limit; x += x < 1_000 ? 1 : 97) {
+            assertEquals(primes.countUpTo(x), PrimeCountingUtil.primePi(x), "pi(" + x + ")");
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.primeapi.algo;
 
 import org.example.primeapi.algo.Algorithms.AtkinAlgorithm;
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
 import org.example.primeapi.algo.Algorithms.SieveAlgorithm;
+import org.example.primeapi.helper.TestHelperMethods;
+import org.example.primeapi.model.PrimeArray;
 import org.example.primeapi.service.PrimeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,8 +13,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,6 +37,8 @@ class PrimePerformanceTest {
     @Autowired
     private CacheManager cacheManager;
 
+    private final TestHelperMethods THM = new TestHelperMethods();
+
     private final int limit = 1_000_000;
 
     @BeforeEach
@@ -45,6 +52,7 @@ class PrimePerformanceTest {
         for (String algorithm : List.of("sieve", "atkin")) {
             for (int threads : List.of(1, 4)) {
                 String label = algorithm + " [" + threads + " threads]";
+                primeService.clearPrimeCache(); // the result store would otherwise answer from the previous iteration
 
                 long uncachedStart = System.nanoTime();
                 List<Integer> uncached = primeService.findPrimes(algorithm, limit, threads, true);
@@ -170,8 +178,38 @@ class PrimePerformanceTest {
     }
 
 
+    @Test
+    void benchmarkChunkMerge_sortDistinctVersusConcat() {
+        THM.skipTest();
+        int mergeLimit = 100_000_000;
+        int chunks = 8;
+
+        int[] basePrimes = sieveAlgorithm.generateBasePrimesForTesting((int) Math.sqrt(mergeLimit)).toIntArray();
+        int chunkSize = (int) Math.ceil((double) (mergeLimit - 1) / chunks);
+        List<PrimeArray> chunkResults = new ArrayList<>();
+        for (int i = 0; i < chunks; i++) {
+            int start = 2 + i * chunkSize;
+            int end = Math.min(start + chunkSize - 1, mergeLimit);
+            chunkResults.add(BitSieveUtil.sieveRange(start, end, basePrimes));
+        }
 
+        long legacyStart = System.nanoTime();
+        List<Integer> legacy = chunkResults.stream()
+                .flatMap(List::stream)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        long legacyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - legacyStart);
 
+        long concatStart = System.nanoTime();
+        PrimeArray concatenated = PrimeArray.concat(chunkResults);
+        long concatMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - concatStart);
 
+        System.out.printf("Chunk merge — limit %d, %d chunks: distinct+sorted = %dms, concat = %dms%n",
+                mergeLimit, chunks, legacyMs, concatMs);
 
-}
\ No newline at end of file
+        assertEquals(5_761_455, concatenated.size(), "pi(10^8) should be 5,761,455");
+        assertEquals(legacy, concatenated, "Concatenated merge should match the sort-and-dedup merge");
+        assertTrue(concatMs <= legacyMs, "Concatenating ordered chunks should not be slower than sorting them");
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.primeapi.algo;
+
+import org.example.primeapi.algo.Algorithms.PrimeTable;
+import org.example.primeapi.algo.Algorithms.PrimeTableGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static boolean[] bruteForce(int limit) {
+        boolean[] prime = new boolean[limit + 1];
+        Arrays.fill(prime, 2, limit + 1, true);
+        for (int i = 2; (long) i * i <= limit; i++) {
+            if (prime[i]) for (int j = i * i; j <= limit; j += i) prime[j] = false;
+        }
+        return prime;
+    }
+
+    @Test
+    void tableFileIsAboutOneBytePerThirtyNumbers() throws IOException {
+        Path file = tempDir.resolve("primes.bin");
+        PrimeTableGenerator.generate(file, 3_000_000);
+
+        assertEquals(16 + 3_000_000 / 30 + 1, Files.size(file));
+        assertEquals(3_000_000, PrimeTable.open(file).limit());
+    }
+
+    @Test
+    void randomRangeCountsMatchBruteForce() throws IOException {
+        int limit = 100_003; // last byte is partial, so its tail bits must be clear
+        Path file = tempDir.resolve("primes.bin");
+        PrimeTableGenerator.generate(file, limit);
+        PrimeTable table = PrimeTable.open(file);
+        boolean[] prime = bruteForce(limit);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(limit + 1);
+            int to = from + random.nextInt(Math.min(5_000, limit - from + 1));
+            int expected = 0;
+            for (int n = from; n <= to; n++) if (prime[n]) expected++;
+
+            assertEquals(expected, table.count(from, to), "count " + from + ".." + to);
+            assertEquals(expected, table.primesInRange(from, to).size(), "range " + from + ".." + to);
+        }
+        assertEquals(9_593, table.count(0, limit));
+        assertThrows(IllegalArgumentException.class, () -> table.isPrime(limit + 1));
+    }
+
+    @Test
+    void rejectsForeignAndTruncatedFiles() throws IOException {
+        Path foreign = tempDir.resolve("foreign.bin");
+        Files.write(foreign, new byte[64]);
+        assertThrows(IOException.class, () -> PrimeTable.open(foreign));
+
+        Path file = tempDir.resolve("primes.bin");
+        PrimeTableGenerator.generate(file, 10_000);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = tempDir.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        IOException exception = assertThrows(IOException.class, () -> PrimeTable.open(truncated));
+        assertTrue(exception.getMessage().startsWith("Truncated prime table"));
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.primeapi.algo;
+
+import org.example.primeapi.algo.Algorithms.PrimeTableGenerator;
+import org.example.primeapi.algo.Algorithms.SieveAlgorithm;
+import org.example.primeapi.algo.Algorithms.TableAlgorithm;
+import org.example.primeapi.model.PrimeArray;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TableAlgorithmTest extends PrimeAlgorithmTestSupport {
+
+    private static final int TABLE_LIMIT = 2_000_003;
+
+    @Autowired
+    private TableAlgorithm tableAlgorithm;
+
+    @Autowired
+    private SieveAlgorithm sieveAlgorithm;
+
+    @TempDir
+    Path tempDir;
+
+    @Override
+    protected PrimeAlgorithm getAlgorithm() {
+        return tableAlgorithm;
+    }
+
+    @BeforeEach
+    void loadTable() throws IOException {
+        Path table = tempDir.resolve("primes.bin");
+        PrimeTableGenerator.generate(table, TABLE_LIMIT);
+        tableAlgorithm.load(table);
+    }
+
+    @AfterEach
+    void unloadTable() {
+        tableAlgorithm.unload();
+    }
+
+    @Test
+    void matchesSieveAcrossBytesAndThreads() {
+        assertEquals(TABLE_LIMIT, tableAlgorithm.tableLimit());
+        for (int limit : List.of(2, 7, 30, 31, 97, 983_041, TABLE_LIMIT)) {
+            for (int threads : List.of(1, 3)) {
+                assertEquals(sieveAlgorithm.generate(limit, threads), tableAlgorithm.generate(limit, threads),
+                        "table should match sieve for limit " + limit + " with " + threads + " thread(s)");
+            }
+        }
+    }
+
+    @Test
+    void countMatchesSieve() {
+        for (int limit : List.of(2, 3, 5, 6, 29, 31, 241, 1_000_000, TABLE_LIMIT)) {
+            assertEquals(sieveAlgorithm.generate(limit, 1).size(), tableAlgorithm.count(limit, 1),
+                    "count should match for limit " + limit);
+        }
+    }
+
+    @Test
+    void rangeQueriesReadOnlyTheRequestedSpan() {
+        PrimeArray all = sieveAlgorithm.generate(TABLE_LIMIT, 1);
+        int[][] ranges = {{0, 10}, {3, 3}, {4, 4}, {29, 31}, {1_000, 1_240}, {999_000, 1_001_000}, {1_999_000, TABLE_LIMIT}};
+        for (int[] range : ranges) {
+            List<Integer> expected = all.stream().filter(p -> p >= range[0] && p <= range[1]).toList();
+            assertEquals(expected, tableAlgorithm.primesInRange(range[0], range[1]),
+                    "range " + range[0] + ".." + range[1]);
+        }
+    }
+
+    @Test
+    void isPrimeMatchesSieve() {
+        PrimeArray primes = sieveAlgorithm.generate(10_000, 1);
+        for (int n = -1; n <= 10_000; n++) {
+            assertEquals(primes.contains(n), tableAlgorithm.isPrime(n), "isPrime(" + n + ")");
+        }
+        assertTrue(tableAlgorithm.isPrime(1_999_993));
+        assertFalse(tableAlgorithm.isPrime(1_999_995));
+    }
+
+    @Test
+    void fallsBackBeyondTheTableLimit() {
+        int limit = TABLE_LIMIT + 100_000;
+        assertEquals(sieveAlgorithm.generate(limit, 2), tableAlgorithm.generate(limit, 2));
+        assertEquals(sieveAlgorithm.count(limit, 1), tableAlgorithm.count(limit, 1));
+        assertTrue(tableAlgorithm.isPrime(2_000_029));
+        assertEquals(List.of(2_000_029, 2_000_039), tableAlgorithm.primesInRange(2_000_004, 2_000_040));
+    }
+
+    @Test
+    void fallsBackWithoutATable() {
+        tableAlgorithm.unload();
+
+        assertEquals(-1, tableAlgorithm.tableLimit());
+        assertEquals(sieveAlgorithm.generate(100_000, 1), tableAlgorithm.generate(100_000, 1));
+        assertEquals(9_592, tableAlgorithm.count(100_000, 1));
+        assertTrue(tableAlgorithm.isPrime(99_991));
+    }
+}
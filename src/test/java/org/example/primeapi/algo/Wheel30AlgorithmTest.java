@@ -0,0 +1,46 @@
+package org.example.primeapi.algo;
+
+import org.example.primeapi.algo.Algorithms.Wheel30Algorithm;
+import org.example.primeapi.algo.Algorithms.SieveAlgorithm;
+import org.example.primeapi.algo.Algorithms.WheelSieveUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class Wheel30AlgorithmTest extends PrimeAlgorithmTestSupport {
+
+    @Autowired
+    private Wheel30Algorithm wheel30Algorithm;
+
+    @Autowired
+    private SieveAlgorithm sieveAlgorithm;
+
+    @Override
+    protected PrimeAlgorithm getAlgorithm() {
+        return wheel30Algorithm;
+    }
+
+    @Override
+    protected List<Integer> blockBoundaryLimits() {
+        // Each block holds BLOCK_BYTES wheel bytes of 30 integers, i.e. 983,040 integers
+        int span = WheelSieveUtil.BLOCK_BYTES * WheelSieveUtil.WHEEL;
+        return List.of(span - 1, span, span + 1, 2 * span, 2_000_003);
+    }
+
+    @Test
+    void matchesSieveAcrossBlockBoundaries() {
+        for (int limit : List.of(10, 97, 983_039, 983_041, 2_000_003)) {
+            for (int threads : List.of(1, 3)) {
+                assertEquals(sieveAlgorithm.generate(limit, threads), wheel30Algorithm.generate(limit, threads),
+                        "wheel30 should match sieve for limit " + limit + " with " + threads + " thread(s)");
+            }
+        }
+    }
+}
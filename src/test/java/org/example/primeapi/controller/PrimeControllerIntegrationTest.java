@@ -1,22 +1,40 @@
 package org.example.primeapi.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.response.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.example.primeapi.helper.TestHelperMethods;
+import org.example.primeapi.model.PrimeArray;
+import org.example.primeapi.util.PrimeDeltaCodec;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 
+import java.io.IOException;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -144,6 +162,19 @@ public class PrimeControllerIntegrationTest {
         assertError(response, 400, "threads must be >= 1");
     }
 
+    @Test
+    void testComputePoolMetrics() {
+        sendPrimeRequest(100_000, "bitsieve", 4, null).then().statusCode(200);
+
+        given().accept("application/json")
+                .when().get("/api/metrics/pool")
+                .then()
+                .statusCode(200)
+                .body("maxPoolSize", greaterThanOrEqualTo(1))
+                .body("queueDepth", greaterThanOrEqualTo(0))
+                .body("completedTasks", greaterThanOrEqualTo(4));
+    }
+
     @Test
     void testMissingLimitParameter() {
         Response response = sendPrimeRequest(null, "sieve", 2, null);
@@ -280,6 +311,731 @@ public class PrimeControllerIntegrationTest {
     }
 
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void loadTestSmallRequestLatencyWhileHeavyRequestsRun(int smallThreads) throws Exception {
+        THM.skipTest();
+        int heavyRequests = 8;
+        int smallRequests = 200;
+
+        // Counting to 1e9 sieves the whole range under a gate permit without a huge body to hold in the test JVM
+        // (full lists above 1e8 are paged and would stay below HEAVY_LIMIT); distinct limits keep the requests
+        // from sharing one computation
+        ExecutorService clients = Executors.newFixedThreadPool(heavyRequests);
+        List<Future<Response>> heavy = new ArrayList<>();
+        for (int i = 0; i < heavyRequests; i++) {
+            int limit = 1_000_000_000 - i;
+            heavy.add(clients.submit(() -> given().accept("application/json")
+                    .queryParam("limit", limit).queryParam("algorithm", "bitsieve").queryParam("threads", 4)
+                    .get("/api/primes/count")));
+        }
+
+        // Only small requests sent while heavy ones hold permits are measured
+        List<Long> latencies = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (latencies.size() < smallRequests && !heavy.stream().allMatch(Future::isDone)
+                && System.currentTimeMillis() < deadline) {
+            if (given().get("/api/metrics/gate").jsonPath().getInt("running") == 0) {
+                Thread.sleep(5);
+                continue;
+            }
+            long start = System.nanoTime();
+            sendPrimeRequest(10_000, "sieve", smallThreads, null).then().statusCode(200);
+            latencies.add((System.nanoTime() - start) / 1_000_000);
+        }
+
+        for (Future<Response> future : heavy) future.get().then().statusCode(200);
+        clients.shutdown();
+
+        assertTrue(latencies.size() >= smallRequests / 2,
+                "Only " + latencies.size() + " small requests ran while the gate was busy");
+        latencies.sort(null);
+        long p50 = latencies.get(latencies.size() / 2);
+        long p99 = latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+        log.info("Small request latency ({} threads) over {} requests with heavy requests holding gate permits: "
+                + "p50={} ms, p99={} ms", smallThreads, latencies.size(), p50, p99);
+        assertTrue(p99 < 1_000, "Small requests should not queue behind heavy ones (p99=" + p99 + " ms)");
+    }
+
+    @Test
+    void testComputeGateMetrics() {
+        given().accept("application/json")
+                .when().get("/api/metrics/gate")
+                .then()
+                .statusCode(200)
+                .body("heavyLimit", equalTo(5_000_000))
+                .body("permits", greaterThanOrEqualTo(1))
+                .body("queued", equalTo(0));
+    }
+
+    @Test
+    void testCoalescingMetrics() {
+        sendPrimeRequest(12_345, "sieve", 1, null).then().statusCode(200);
+
+        given().accept("application/json")
+                .when().get("/api/metrics/coalescing")
+                .then()
+                .statusCode(200)
+                .body("inFlight", equalTo(0))
+                .body("computations", greaterThanOrEqualTo(1))
+                .body("coalesced", greaterThanOrEqualTo(0));
+    }
+
+    @Test
+    void testCacheMetrics() {
+        given().queryParam("limit", 54_321).queryParam("algorithm", "sieve").queryParam("useCache", true)
+                .get("/api/primes").then().statusCode(200);
+
+        given().accept("application/json")
+                .when().get("/api/metrics/cache")
+                .then()
+                .statusCode(200)
+                .body("name", hasItems("primes", "basePrimes", "docs"))
+                .body("find { it.name == 'primes' }.entries", greaterThanOrEqualTo(1))
+                .body("find { it.name == 'primes' }.maxBytes", equalTo(268435456));
+    }
+
+    @Test
+    void testWarmUpMetrics() {
+        int trackedBefore = given().get("/api/metrics/warmup").jsonPath().getInt("trackedQueries");
+        given().queryParam("limit", 54_319).queryParam("algorithm", "sieve").get("/api/primes").then().statusCode(200);
+        // Uncached requests never read the primes cache, so they are not worth warming
+        given().get("/api/metrics/warmup").then().body("trackedQueries", equalTo(trackedBefore));
+
+        given().queryParam("limit", 54_323).queryParam("algorithm", "sieve").queryParam("useCache", true)
+                .get("/api/primes").then().statusCode(200);
+
+        given().accept("application/json")
+                .when().get("/api/metrics/warmup")
+                .then()
+                .statusCode(200)
+                .body("state", oneOf("WAITING", "DONE"))
+                .body("trackedQueries", greaterThanOrEqualTo(1))
+                .body("warmHits", greaterThanOrEqualTo(0));
+    }
+
+    @Test
+    void testRangeNearOneBillionSievesOnlyTheWindow() {
+        int from = 999_000_000, to = 1_000_000_000;
+        int expected = 0;
+        for (int n = from | 1; n <= to; n += 2) {
+            if (BigInteger.valueOf(n).isProbablePrime(30)) expected++;
+        }
+
+        for (String algorithm : List.of("bitsieve", "wheel30", "sieve", "atkin")) {
+            Response response = given().accept("application/json")
+                    .queryParam("from", from).queryParam("to", to)
+                    .queryParam("algorithm", algorithm).queryParam("threads", 2)
+                    .get("/api/primes");
+            response.then()
+                    .statusCode(200)
+                    .body("data.from", equalTo(from))
+                    .body("data.limit", equalTo(to))
+                    .body("data.total", equalTo(expected));
+
+            List<Integer> primes = response.jsonPath().getList("data.primes", Integer.class);
+            assertTrue(primes.get(0) >= from && primes.get(primes.size() - 1) <= to, algorithm);
+        }
+    }
+
+    @Test
+    void testRangeAgreesWithFullListAndValidatesBounds() {
+        List<Integer> all = given().accept("application/json").queryParam("limit", 10_000).queryParam("algorithm", "sieve")
+                .get("/api/primes").jsonPath().getList("data.primes", Integer.class);
+
+        given().accept("application/json")
+                .queryParam("from", 9_000).queryParam("limit", 10_000).queryParam("algorithm", "miller").queryParam("useCache", true)
+                .get("/api/primes")
+                .then()
+                .statusCode(200)
+                .body("data.primes", equalTo(all.stream().filter(p -> p >= 9_000).toList()));
+
+        // from ≤ 2 is a plain full-list query
+        given().accept("application/json").queryParam("from", 0).queryParam("to", 100).queryParam("algorithm", "sieve")
+                .get("/api/primes")
+                .then().statusCode(200).body("data.total", equalTo(25)).body("data", not(hasKey("from")));
+
+        given().accept("application/json").queryParam("from", 101).queryParam("limit", 100).get("/api/primes")
+                .then().statusCode(400).body("error.message", containsString("from must be between 0 and limit"));
+        given().accept("application/json").queryParam("to", 100).queryParam("limit", 200).get("/api/primes")
+                .then().statusCode(400).body("error.message", containsString("either limit or to"));
+        given().accept("application/json").queryParam("from", 10).get("/api/primes")
+                .then().statusCode(400).body("error.message", containsString("Missing required parameter 'limit'"));
+    }
+
+    @Test
+    void testRangePagesStartAtFrom() {
+        Response first = given().accept("application/json")
+                .queryParam("from", 500_000_000).queryParam("to", 600_000_000).queryParam("pageSize", 1_000)
+                .queryParam("algorithm", "bitsieve")
+                .get("/api/primes");
+        first.then().statusCode(200).body("data.total", equalTo(1_000)).body("data.from", equalTo(500_000_000));
+
+        List<Integer> primes = first.jsonPath().getList("data.primes", Integer.class);
+        assertTrue(primes.get(0) >= 500_000_000);
+        assertTrue(primes.get(0) < 500_001_000);
+
+        given().accept("application/json")
+                .queryParam("from", 500_000_000).queryParam("to", 600_000_000).queryParam("pageSize", 1_000)
+                .queryParam("cursor", first.jsonPath().getString("data.nextCursor"))
+                .get("/api/primes")
+                .then().statusCode(200).body("data.primes[0]", greaterThan(primes.get(primes.size() - 1)));
+    }
+
+    private static List<Long> probablePrimes(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .filter(n -> BigInteger.valueOf(n).isProbablePrime(50))
+                .boxed()
+                .toList();
+    }
+
+    @Test
+    void testWindowBeyondTwoToThe32() throws IOException {
+        long from = (1L << 32) - 2_000;
+        long to = (1L << 32) + 2_000;
+        List<Long> expected = probablePrimes(from, to);
+
+        Response json = given().accept("application/json")
+                .queryParam("from", from).queryParam("to", to).queryParam("algorithm", "trial").queryParam("threads", 2)
+                .get("/api/primes");
+        json.then().statusCode(200)
+                .body("data.total", equalTo(expected.size()))
+                .body("data.from", equalTo(from))
+                .body("data.limit", equalTo(to));
+        assertEquals(expected, json.jsonPath().getList("data.primes", Long.class));
+
+        Response delta = given().accept(PrimeDeltaCodec.MEDIA_TYPE)
+                .queryParam("from", from).queryParam("to", to).queryParam("useCache", true)
+                .get("/api/primes");
+        delta.then().statusCode(200).header("X-Prime-From", String.valueOf(from));
+        assertEquals(expected, PrimeDeltaCodec.decodeLong(delta.asByteArray()));
+    }
+
+    @Test
+    void testWindowAcrossTwoToThe31CountsAndValidates() {
+        long from = (1L << 31) - 50_000;
+        long to = (1L << 31) + 50_000;
+        int expected = probablePrimes(from, to).size();
+
+        given().accept("application/json")
+                .queryParam("from", from).queryParam("limit", to).queryParam("threads", 3)
+                .get("/api/primes/count")
+                .then().statusCode(200).body("data.total", equalTo(expected));
+        given().accept("application/json")
+                .queryParam("from", from).queryParam("to", to).queryParam("algorithm", "bitsieve").queryParam("threads", 3)
+                .get("/api/primes")
+                .then().statusCode(200).body("data.total", equalTo(expected));
+
+        given().accept("application/json").queryParam("from", 2).queryParam("to", 1L << 33).get("/api/primes")
+                .then().statusCode(400).body("error.message", containsString("at most 100000000 numbers"));
+        given().accept("application/json").queryParam("from", from).queryParam("to", to).queryParam("pageSize", 10)
+                .get("/api/primes")
+                .then().statusCode(400).body("error.message", containsString("not paged"));
+        given().accept("application/json").queryParam("limit", 1L << 33).get("/api/primes")
+                .then().statusCode(400).body("error.message", containsString("Full lists stop at MAXLIMIT"));
+    }
+
+    @Test
+    void testStreamBeyondTwoToThe32() throws Exception {
+        long from = (1L << 32) - 1_000;
+        long to = (1L << 32) + 1_000;
+        Response response = given()
+                .queryParam("from", from)
+                .queryParam("limit", to)
+                .get("/api/primes/stream");
+        response.then().statusCode(200);
+
+        List<JsonNode> lines = parseNdjson(response.asString());
+        List<Long> streamed = new ArrayList<>();
+        for (JsonNode segment : lines.subList(0, lines.size() - 1)) {
+            assertEquals(from, segment.get("start").asLong());
+            segment.get("primes").forEach(prime -> streamed.add(prime.asLong()));
+        }
+        assertEquals(probablePrimes(from, to), streamed);
+        assertEquals(streamed.size(), lines.get(lines.size() - 1).get("total").asInt());
+        assertEquals(to, lines.get(lines.size() - 1).get("limit").asLong());
+    }
+
+    @Test
+    void testCountEndpointOmitsPrimes() {
+        given().accept("application/json")
+                .queryParam("limit", 1_000_000)
+                .queryParam("algorithm", "wheel30")
+                .queryParam("threads", 2)
+                .when().get("/api/primes/count")
+                .then()
+                .statusCode(200)
+                .body("data.total", equalTo(78_498))
+                .body("data.algorithm", equalTo("wheel30"))
+                .body("data", not(hasKey("primes")));
+    }
+
+    @Test
+    void testCountEndpointAcrossAlgorithms() {
+        for (String algorithm : List.of("trial", "sieve", "atkin", "miller", "bitsieve", "wheel30", "table")) {
+            given().accept("application/json")
+                    .queryParam("limit", 1_000)
+                    .queryParam("algorithm", algorithm)
+                    .when().get("/api/primes/count")
+                    .then()
+                    .statusCode(200)
+                    .body("data.total", equalTo(168));
+        }
+    }
+
+    @Test
+    void testCountEndpointMaxLimit() {
+        given().accept("application/json")
+                .queryParam("limit", 1_000_000_000)
+                .queryParam("algorithm", "bitsieve")
+                .queryParam("threads", 4)
+                .when().get("/api/primes/count")
+                .then()
+                .statusCode(200)
+                .body("data.total", equalTo(50_847_534));
+    }
+
+    @Test
+    void testPrimePiEndpoint() {
+        given().accept("application/json")
+                .queryParam("limit", 10_000_000_000L)
+                .queryParam("useCache", true)
+                .when().get("/api/primes/pi")
+                .then()
+                .statusCode(200)
+                .body("data.total", equalTo(455_052_511))
+                .body("data.algorithm", equalTo("lucy"))
+                .body("data", not(hasKey("primes")));
+
+        given().accept("application/json").queryParam("limit", 1)
+                .when().get("/api/primes/pi")
+                .then().statusCode(200).body("data.total", equalTo(0));
+    }
+
+    @Test
+    void testPrimePiRejectsOutOfRangeLimits() {
+        for (long limit : new long[]{-1, 10_000_000_000_001L}) {
+            given().accept("application/json").queryParam("limit", limit)
+                    .when().get("/api/primes/pi")
+                    .then().statusCode(400).body("error.message", containsString("PRIME_PI_MAX"));
+        }
+    }
+
+    @Test
+    void testCountAboveMaxLimitWithoutFromUsesPrimePi() {
+        given().accept("application/json")
+                .queryParam("limit", 100_000_000_000L)
+                .queryParam("algorithm", "trial")
+                .when().get("/api/primes/count")
+                .then()
+                .statusCode(200)
+                .body("data.total", equalTo(4_118_054_813L));
+    }
+
+    @Test
+    void testCountEndpointRejectsInvalidInput() {
+        given().accept("application/json")
+                .queryParam("limit", 100)
+                .queryParam("algorithm", "unknown")
+                .when().get("/api/primes/count")
+                .then()
+                .statusCode(400)
+                .body("error.message", containsString("Unsupported algorithm"));
+
+        given().accept("application/json")
+                .queryParam("limit", -1)
+                .when().get("/api/primes/count")
+                .then()
+                .statusCode(400)
+                .body("error.message", containsString("threads must be >= 1"));
+    }
+
+    @Test
+    void testCursorPaginationWalksWholeRange() {
+        List<Integer> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = given().accept("application/json")
+                    .queryParam("limit", 1_000_000)
+                    .queryParam("algorithm", "sieve")
+                    .queryParam("pageSize", 10_000);
+            if (cursor != null) request.queryParam("cursor", cursor);
+
+            Response response = request.get("/api/primes");
+            response.then().statusCode(200).body("data.total", lessThanOrEqualTo(10_000));
+            walked.addAll(response.jsonPath().getList("data.primes", Integer.class));
+            cursor = response.jsonPath().getString("data.nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        Response full = sendPrimeRequest(1_000_000, "sieve", 1, "application/json");
+        assertEquals(full.jsonPath().getList("data.primes", Integer.class), walked);
+        assertEquals(8, pages, "78,498 primes in pages of 10,000");
+    }
+
+    @Test
+    void testLargeLimitReturnsFirstPageWithCursor() {
+        Response first = sendPrimeRequest(1_000_000_000, "bitsieve", 4, "application/json");
+        first.then().statusCode(200)
+                .body("data.total", equalTo(100_000))
+                .body("data.nextCursor", notNullValue());
+        List<Integer> firstPrimes = first.jsonPath().getList("data.primes", Integer.class);
+
+        Response second = given().accept("application/json")
+                .queryParam("limit", 1_000_000_000)
+                .queryParam("algorithm", "bitsieve")
+                .queryParam("cursor", first.jsonPath().getString("data.nextCursor"))
+                .get("/api/primes");
+        second.then().statusCode(200).body("data.total", equalTo(100_000));
+
+        assertEquals(1_299_709, firstPrimes.get(firstPrimes.size() - 1), "100,000th prime");
+        assertEquals(1_299_721, second.jsonPath().getList("data.primes", Integer.class).get(0), "100,001st prime");
+    }
+
+    @Test
+    void testLastPageHasNoCursor() {
+        given().accept("application/json")
+                .queryParam("limit", 100)
+                .queryParam("pageSize", 25)
+                .get("/api/primes")
+                .then()
+                .statusCode(200)
+                .body("data.total", equalTo(25))
+                .body("data", not(hasKey("nextCursor")));
+    }
+
+    @Test
+    void testInvalidCursorAndPageSizeReturn400() {
+        given().accept("application/json")
+                .queryParam("limit", 1_000)
+                .queryParam("cursor", "garbage")
+                .get("/api/primes")
+                .then()
+                .statusCode(400)
+                .body("error.message", containsString("Invalid cursor"));
+
+        given().accept("application/json")
+                .queryParam("limit", 1_000)
+                .queryParam("pageSize", 0)
+                .get("/api/primes")
+                .then()
+                .statusCode(400)
+                .body("error.message", containsString("pageSize must be between"));
+    }
+
+    @Test
+    void testCursorReplayedAgainstAnotherQueryReturns400() {
+        String cursor = given().accept("application/json")
+                .queryParam("limit", 1_000).queryParam("pageSize", 10)
+                .get("/api/primes")
+                .jsonPath().getString("data.nextCursor");
+
+        given().accept("application/json")
+                .queryParam("limit", 2_000).queryParam("pageSize", 10).queryParam("cursor", cursor)
+                .get("/api/primes")
+                .then()
+                .statusCode(400)
+                .body("error.message", containsString("different query"));
+
+        given().accept("application/json")
+                .queryParam("limit", 1_000).queryParam("from", 500).queryParam("pageSize", 10).queryParam("cursor", cursor)
+                .get("/api/primes")
+                .then()
+                .statusCode(400);
+
+        given().accept("application/json")
+                .queryParam("limit", 1_000).queryParam("pageSize", 10).queryParam("cursor", cursor)
+                .get("/api/primes")
+                .then()
+                .statusCode(200)
+                .body("data.primes[0]", equalTo(31));
+    }
+
+    @Test
+    void testStreamWritesOneLinePerSegmentThenSummary() throws Exception {
+        Response response = given()
+                .queryParam("limit", 3_000_000)
+                .queryParam("threads", 3)
+                .get("/api/primes/stream");
+        response.then().statusCode(200).contentType("application/x-ndjson");
+
+        List<JsonNode> lines = parseNdjson(response.asString());
+        List<Integer> streamed = new ArrayList<>();
+        for (JsonNode segment : lines.subList(0, lines.size() - 1)) {
+            assertTrue(segment.get("start").asInt() <= segment.get("end").asInt());
+            segment.get("primes").forEach(prime -> streamed.add(prime.asInt()));
+        }
+        JsonNode summary = lines.get(lines.size() - 1);
+
+        Response full = sendPrimeRequest(3_000_000, "sieve", 1, "application/json");
+        assertEquals(full.jsonPath().getList("data.primes", Integer.class), streamed);
+        assertEquals(216_816, summary.get("total").asInt());
+        assertEquals(3_000_000, summary.get("limit").asInt());
+        assertTrue(lines.size() - 1 >= 3, "3M numbers should span several segments");
+    }
+
+    @Test
+    void testStreamFromStoredResult() throws Exception {
+        sendPrimeRequest(2_000_000, "sieve", 2, "application/json").then().statusCode(200);
+
+        Response response = given()
+                .queryParam("limit", 1_000_000)
+                .queryParam("useCache", true)
+                .get("/api/primes/stream");
+        response.then().statusCode(200);
+
+        List<JsonNode> lines = parseNdjson(response.asString());
+        assertEquals(78_498, lines.get(lines.size() - 1).get("total").asInt());
+    }
+
+    @Test
+    void testStreamSkippedInputWritesOnlySummary() throws Exception {
+        Response response = given().queryParam("limit", 1).get("/api/primes/stream");
+        response.then().statusCode(200);
+
+        List<JsonNode> lines = parseNdjson(response.asString());
+        assertEquals(1, lines.size());
+        assertEquals(0, lines.get(0).get("total").asInt());
+    }
+
+    @Test
+    void testStreamRejectsInvalidInput() {
+        given().queryParam("limit", 100)
+                .queryParam("algorithm", "unknown")
+                .get("/api/primes/stream")
+                .then()
+                .statusCode(400)
+                .contentType("application/json")
+                .body("error.message", containsString("Unsupported algorithm"));
+    }
+
+    @Test
+    void testPrimalityBatchReturnsBooleansInRequestOrder() {
+        given().contentType("application/json").accept("application/json")
+                .body("[2, 15, 1000000007, 4294967297, -3, 999999999989]")
+                .post("/api/primes/test")
+                .then().statusCode(200)
+                .body("count", equalTo(6))
+                .body("primes", equalTo(3))
+                .body("results", contains(true, false, true, false, false, true))
+                .body("bitmap", nullValue());
+    }
+
+    @Test
+    void testPrimalityBatchAsBitmap() {
+        String body = LongStream.range(0, 20).mapToObj(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+
+        Response response = given().contentType("application/json").accept("application/json")
+                .queryParam("format", "bitmap").body(body)
+                .post("/api/primes/test");
+        response.then().statusCode(200).body("primes", equalTo(8)).body("results", nullValue());
+
+        // 2, 3, 5, 7 | 11, 13 | 17, 19 — least significant bit first
+        byte[] bitmap = Base64.getDecoder().decode(response.jsonPath().getString("bitmap"));
+        assertArrayEquals(new byte[]{(byte) 0b1010_1100, 0b0010_1000, 0b0000_1010}, bitmap);
+    }
+
+    @Test
+    void testPrimalityBatchRejectsBadInput() {
+        given().contentType("application/json").queryParam("format", "hex").body("[7]")
+                .post("/api/primes/test")
+                .then().statusCode(400).body("error.message", containsString("format"));
+
+        given().contentType("application/json").body("[7, \"seven\"]")
+                .post("/api/primes/test")
+                .then().statusCode(400);
+    }
+
+    @Test
+    void testPrimeDeltaFormatRoundTripsAndIsSmallerThanJson() throws Exception {
+        Response json = sendPrimeRequest(1_000_000, "bitsieve", 2, "application/json");
+        Response delta = sendPrimeRequest(1_000_000, "bitsieve", 2, PrimeDeltaCodec.MEDIA_TYPE);
+
+        delta.then()
+                .statusCode(200)
+                .contentType(PrimeDeltaCodec.MEDIA_TYPE)
+                .header("X-Prime-Algorithm", "bitsieve")
+                .header("X-Prime-Limit", "1000000")
+                .header("X-Prime-Total", "78498");
+
+        byte[] body = delta.asByteArray();
+        PrimeArray decoded = PrimeDeltaCodec.decode(body);
+        assertEquals(json.jsonPath().getList("data.primes", Integer.class), decoded);
+        assertTrue(body.length * 5 < json.asByteArray().length,
+                "delta body " + body.length + " bytes vs JSON " + json.asByteArray().length);
+    }
+
+    @Test
+    void testPrimeDeltaFormatCarriesNextCursor() throws Exception {
+        Response delta = given().accept(PrimeDeltaCodec.MEDIA_TYPE)
+                .queryParam("limit", 1_000_000)
+                .queryParam("algorithm", "bitsieve")
+                .queryParam("pageSize", 10)
+                .get("/api/primes");
+
+        delta.then().statusCode(200).header("X-Prime-Next-Cursor", notNullValue());
+        assertEquals(PrimeArray.of(2, 3, 5, 7, 11, 13, 17, 19, 23, 29), PrimeDeltaCodec.decode(delta.asByteArray()));
+    }
+
+    @Test
+    void testPrimeDeltaFormatErrorsAreJson() {
+        sendPrimeRequest(100, "unknown", 1, PrimeDeltaCodec.MEDIA_TYPE)
+                .then()
+                .statusCode(400)
+                .contentType("application/json")
+                .body("error.message", containsString("Unsupported algorithm"));
+    }
+
+    @Test
+    void testCachedResponseBytesAreReplayedPerContentType() {
+        RestAssuredConfig noGzip = RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+        given().get("/api/cache/clear").then().statusCode(200);
+
+        Response first = given().config(noGzip).accept("application/json")
+                .queryParam("limit", 654_321).queryParam("algorithm", "sieve").queryParam("useCache", true)
+                .get("/api/primes");
+        Response second = given().config(noGzip).accept("application/json")
+                .queryParam("limit", 654_321).queryParam("algorithm", "sieve").queryParam("useCache", true)
+                .get("/api/primes");
+
+        first.then().statusCode(200).header("X-Cache", "MISS").contentType("application/json");
+        second.then().statusCode(200).header("X-Cache", "HIT").contentType("application/json")
+                .header("Content-Length", String.valueOf(second.asByteArray().length))
+                .body("data.total", equalTo(53_147));
+        assertEquals(first.asString(), second.asString());
+
+        // Each negotiated type has its own entry
+        given().accept("application/xml")
+                .queryParam("limit", 654_321).queryParam("algorithm", "sieve").queryParam("useCache", true)
+                .get("/api/primes")
+                .then().statusCode(200).header("X-Cache", "MISS").contentType(containsString("application/xml"));
+
+        given().get("/api/cache/clear").then().statusCode(200);
+        given().config(noGzip).accept("application/json")
+                .queryParam("limit", 654_321).queryParam("algorithm", "sieve").queryParam("useCache", true)
+                .get("/api/primes")
+                .then().header("X-Cache", "MISS");
+    }
+
+    @Test
+    void testCachedResponseIsStoredGzipped() throws Exception {
+        for (String expected : List.of("MISS", "HIT")) {
+            Response response = given().accept("application/json")
+                    .queryParam("limit", 765_432).queryParam("algorithm", "bitsieve").queryParam("useCache", true)
+                    .get("/api/primes");
+
+            // RestAssured sends Accept-Encoding: gzip and transparently decompresses the body
+            response.then().statusCode(200)
+                    .header("X-Cache", expected)
+                    .header("Content-Encoding", "gzip")
+                    .body("data.total", equalTo(61_392));
+        }
+
+        Response delta = given().accept(PrimeDeltaCodec.MEDIA_TYPE)
+                .queryParam("limit", 765_432).queryParam("algorithm", "bitsieve").queryParam("useCache", true)
+                .get("/api/primes");
+        delta.then().statusCode(200).header("X-Prime-Total", "61392");
+        assertEquals(61_392, PrimeDeltaCodec.decode(delta.asByteArray()).size());
+    }
+
+    @Test
+    void testGzipRefusedWithZeroQValueIsNotSent() {
+        RestAssuredConfig noAutoGzip = RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+        Response refused = given().config(noAutoGzip).accept("application/json").header("Accept-Encoding", "gzip;q=0")
+                .queryParam("limit", 765_433).queryParam("algorithm", "bitsieve").queryParam("useCache", true)
+                .get("/api/primes");
+        refused.then().statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .body("data.total", equalTo(61_392));
+
+        String accepted = given().config(noAutoGzip).accept("application/json").header("Accept-Encoding", "gzip")
+                .queryParam("limit", 765_433).queryParam("algorithm", "bitsieve").queryParam("useCache", true)
+                .get("/api/primes")
+                .then().statusCode(200).header("Content-Encoding", "gzip")
+                .extract().header("ETag");
+        assertTrue(!accepted.equals(refused.header("ETag")), "identity and gzip bodies need their own ETags");
+    }
+
+    @Test
+    void testPrimesEtagAnswers304WithoutRecomputing() {
+        Response first = sendPrimeRequest(123_457, "sieve", 2, "application/json");
+        String etag = first.header("ETag");
+
+        first.then().statusCode(200)
+                .header("Cache-Control", allOf(containsString("max-age="), containsString("public")))
+                .header("Vary", containsString("Accept"));
+        assertTrue(etag != null && etag.startsWith("W/\""), "weak ETag expected, was " + etag);
+
+        long computationsBefore = given().get("/api/metrics/coalescing").jsonPath().getLong("computations");
+        given().accept("application/json").header("If-None-Match", etag)
+                .queryParam("limit", 123_457).queryParam("algorithm", "sieve").queryParam("threads", 2)
+                .get("/api/primes")
+                .then()
+                .statusCode(304)
+                .header("ETag", etag)
+                .body(emptyString());
+        assertEquals(computationsBefore, given().get("/api/metrics/coalescing").jsonPath().getLong("computations"));
+
+        // A stale ETag gets the full body again
+        given().accept("application/json").header("If-None-Match", "\"stale\"")
+                .queryParam("limit", 123_457).queryParam("algorithm", "sieve").queryParam("threads", 2)
+                .get("/api/primes")
+                .then()
+                .statusCode(200)
+                .header("ETag", etag);
+    }
+
+    @Test
+    void testPrimesEtagDiffersByQueryAndRepresentation() {
+        String json = sendPrimeRequest(1_000, "sieve", 1, "application/json").header("ETag");
+        String xml = sendPrimeRequest(1_000, "sieve", 1, "application/xml").header("ETag");
+        String otherLimit = sendPrimeRequest(1_001, "sieve", 1, "application/json").header("ETag");
+        String page = given().accept("application/json")
+                .queryParam("limit", 1_000).queryParam("algorithm", "sieve").queryParam("pageSize", 10)
+                .get("/api/primes").header("ETag");
+
+        assertEquals(4, Set.of(json, xml, otherLimit, page).size());
+        assertEquals(json, sendPrimeRequest(1_000, "sieve", 1, "application/json").header("ETag"));
+    }
+
+    @Test
+    void testUnacceptableTypeAnswers406WithoutComputing() {
+        long computationsBefore = given().get("/api/metrics/coalescing").jsonPath().getLong("computations");
+
+        given().accept("text/csv")
+                .queryParam("limit", 234_567).queryParam("algorithm", "sieve").queryParam("threads", 2)
+                .get("/api/primes")
+                .then()
+                .statusCode(406)
+                .header("ETag", nullValue());
+        given().accept("text/csv")
+                .queryParam("from", 3_000_000_000L).queryParam("limit", 3_000_001_000L).queryParam("algorithm", "bitsieve")
+                .get("/api/primes")
+                .then()
+                .statusCode(406);
+
+        assertEquals(computationsBefore, given().get("/api/metrics/coalescing").jsonPath().getLong("computations"));
+    }
+
+    @Test
+    void testPrimesErrorsCarryNoValidators() {
+        sendPrimeRequest(100, "unknown", 1, "application/json")
+                .then()
+                .statusCode(400)
+                .header("ETag", nullValue())
+                .header("Cache-Control", nullValue());
+    }
+
+    private List<JsonNode> parseNdjson(String body) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) lines.add(mapper.readTree(line));
+        }
+        return lines;
+    }
+
     @Test
     void testAtkinAlgorithMaxLimit() {
         Response response = sendPrimeRequest(1000000000, "atkin", 2, null);
@@ -569,6 +1325,29 @@ public class PrimeControllerIntegrationTest {
                 .body(containsString("sidebar")); // confirms layout wrapper
     }
 
+    @Test
+    void markdownPageHonoursIfNoneMatch() {
+        Response first = given().accept("text/html").get("/docs/view/README.md");
+        String etag = first.header("ETag");
+
+        first.then().statusCode(200).header("Cache-Control", containsString("no-cache"));
+        assertTrue(etag != null && etag.startsWith("\""), "strong ETag expected, was " + etag);
+
+        // The cached page is charged for its size, not a flat per-entry estimate
+        long docsBytes = given().get("/api/metrics/cache").jsonPath().getLong("find { it.name == 'docs' }.estimatedBytes");
+        assertTrue(docsBytes >= first.asByteArray().length, "docs cache counts " + docsBytes + " bytes");
+
+        given().accept("text/html").header("If-None-Match", etag)
+                .get("/docs/view/README.md")
+                .then()
+                .statusCode(304)
+                .header("ETag", etag)
+                .body(emptyString());
+
+        String otherEtag = given().accept("text/html").get("/docs/view/Performance.md").header("ETag");
+        assertTrue(!etag.equals(otherEtag), "each page has its own ETag");
+    }
+
     @Test
     void invalidMarkdownFileReturns404Html() {
         Response response = given()
@@ -8,7 +8,6 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,7 +20,7 @@ class APIResponseTest {
                 .algorithm("sieve")
                 .limit(100)
                 .threads(4)
-                .primes(List.of(2, 3, 5, 7))
+                .primes(PrimeArray.of(2, 3, 5, 7))
                 .total(4)
                 .durationMs(12)
                 .build();
@@ -130,7 +129,7 @@ class APIResponseTest {
                 .algorithm("sieve")
                 .limit(100)
                 .threads(4)
-                .primes(List.of(2, 3, 5, 7))
+                .primes(PrimeArray.of(2, 3, 5, 7))
                 .total(4)
                 .durationMs(12)
                 .build();
@@ -156,7 +155,7 @@ class APIResponseTest {
                 .algorithm("trial")
                 .limit(50)
                 .threads(2)
-                .primes(List.of(2, 3, 5))
+                .primes(PrimeArray.of(2, 3, 5))
                 .total(3)
                 .durationMs(8)
                 .build();
@@ -0,0 +1,117 @@
+package org.example.primeapi.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeArrayTest {
+
+    @Test
+    void builderGrowsAndPreservesOrder() {
+        PrimeArray.Builder builder = PrimeArray.builder(1);
+        for (int i = 0; i < 1000; i++) builder.add(i);
+        PrimeArray values = builder.build();
+
+        assertEquals(1000, values.size());
+        assertEquals(0, values.getInt(0));
+        assertEquals(999, values.getInt(999));
+    }
+
+    @Test
+    void equalsAndHashCodeMatchListContract() {
+        PrimeArray primes = PrimeArray.of(2, 3, 5, 7);
+
+        assertEquals(List.of(2, 3, 5, 7), primes);
+        assertEquals(primes, List.of(2, 3, 5, 7));
+        assertEquals(List.of(2, 3, 5, 7).hashCode(), primes.hashCode());
+        assertEquals(PrimeArray.wrap(new int[]{2, 3, 5, 7}), primes);
+    }
+
+    @Test
+    void ofCopiesInputButWrapDoesNot() {
+        int[] source = {2, 3, 5};
+        PrimeArray copied = PrimeArray.of(source);
+        PrimeArray wrapped = PrimeArray.wrap(source);
+        source[0] = 11;
+
+        assertEquals(2, copied.getInt(0));
+        assertEquals(11, wrapped.getInt(0));
+    }
+
+    @Test
+    void isImmutable() {
+        PrimeArray primes = PrimeArray.of(2, 3);
+        assertThrows(UnsupportedOperationException.class, () -> primes.add(5));
+    }
+
+    @Test
+    void jsonSerializationWritesPlainArray() throws JsonProcessingException {
+        assertEquals("[2,3,5,7]", new ObjectMapper().writeValueAsString(PrimeArray.of(2, 3, 5, 7)));
+        assertEquals("[]", new ObjectMapper().writeValueAsString(PrimeArray.empty()));
+    }
+
+    @Test
+    void concatJoinsOrderedPartsInOrder() {
+        PrimeArray merged = PrimeArray.concat(List.of(PrimeArray.of(2, 3), PrimeArray.empty(), PrimeArray.of(5, 7, 11)));
+
+        assertEquals(List.of(2, 3, 5, 7, 11), merged);
+        assertTrue(PrimeArray.concat(List.of()).isEmpty());
+    }
+
+    @Test
+    void sliceIsZeroCopyView() {
+        PrimeArray primes = PrimeArray.of(2, 3, 5, 7, 11, 13);
+        PrimeArray middle = primes.slice(1, 4);
+
+        assertEquals(List.of(3, 5, 7), middle);
+        assertSame(primes.backingArray(), middle.backingArray());
+        assertEquals(1, middle.offset());
+        assertEquals(List.of(3, 5, 7).hashCode(), middle.hashCode());
+        assertEquals(PrimeArray.of(3, 5, 7), middle);
+        assertArrayEquals(new int[]{3, 5, 7}, middle.toIntArray());
+        assertEquals(15, middle.intStream().sum());
+        assertEquals(List.of(5), middle.subList(1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> middle.getInt(3));
+    }
+
+    @Test
+    void upToCutsAtLimitByBinarySearch() {
+        PrimeArray primes = PrimeArray.of(2, 3, 5, 7, 11, 13);
+
+        assertEquals(List.of(2, 3, 5, 7), primes.upTo(10));
+        assertEquals(List.of(2, 3, 5, 7, 11), primes.upTo(11));
+        assertEquals(primes, primes.upTo(100));
+        assertTrue(primes.upTo(1).isEmpty());
+        assertEquals(4, primes.countUpTo(7));
+        assertEquals(2, primes.slice(2, 6).countUpTo(7));
+    }
+
+    @Test
+    void compactDropsUnusedBackingArray() {
+        PrimeArray prefix = PrimeArray.of(2, 3, 5, 7).slice(0, 2);
+        PrimeArray compacted = prefix.compact();
+
+        assertEquals(prefix, compacted);
+        assertEquals(2, compacted.backingArray().length);
+    }
+
+    @Test
+    void serializesSliceOnly() throws JsonProcessingException {
+        PrimeArray slice = PrimeArray.of(2, 3, 5, 7, 11).slice(1, 3);
+        assertEquals("[3,5]", new ObjectMapper().writeValueAsString(slice));
+    }
+
+    @Test
+    void builderAndConcatCopySlices() {
+        PrimeArray source = PrimeArray.of(2, 3, 5, 7, 11);
+        PrimeArray built = PrimeArray.builder().addAll(source.slice(3, 5)).build();
+        PrimeArray merged = PrimeArray.concat(List.of(source.slice(0, 2), source.slice(3, 5)));
+
+        assertEquals(List.of(7, 11), built);
+        assertEquals(List.of(2, 3, 7, 11), merged);
+    }
+}
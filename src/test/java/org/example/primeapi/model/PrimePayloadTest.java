@@ -17,7 +17,7 @@ class PrimePayloadTest {
                 .algorithm("sieve")
                 .limit(100)
                 .threads(4)
-                .primes(List.of(2, 3, 5, 7))
+                .primes(PrimeArray.of(2, 3, 5, 7))
                 .total(4)
                 .durationMs(12)
                 .build();
@@ -36,7 +36,7 @@ class PrimePayloadTest {
                 .algorithm("trial")
                 .limit(50)
                 .threads(2)
-                .primes(List.of(2, 3, 5))
+                .primes(PrimeArray.of(2, 3, 5))
                 .total(3)
                 .durationMs(8)
                 .build();
@@ -58,7 +58,7 @@ class PrimePayloadTest {
                 .algorithm("sieve")
                 .limit(100)
                 .threads(4)
-                .primes(List.of(2, 3, 5, 7))
+                .primes(PrimeArray.of(2, 3, 5, 7))
                 .total(4)
                 .durationMs(12)
                 .build();
@@ -0,0 +1,126 @@
+package org.example.primeapi.service;
+
+import org.example.primeapi.model.PrimeArray;
+import org.example.primeapi.util.BoundedCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static CacheManager freshCaches() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new BoundedCache("basePrimes", 1 << 20),
+                new BoundedCache("primes", 1 << 20),
+                new BoundedCache("primeCounts", 1 << 20)));
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+
+    private CacheSnapshotService service(CacheManager cacheManager) {
+        return new CacheSnapshotService(cacheManager, tempDir.resolve("caches.snapshot").toString(), 0);
+    }
+
+    @Test
+    void restoresPrimeCachesAfterRestart() throws IOException {
+        CacheManager before = freshCaches();
+        before.getCache("basePrimes").put(31, PrimeArray.of(2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31));
+        before.getCache("primes").put("sieve-10-1", PrimeArray.of(2, 3, 5, 7));
+        before.getCache("primes").put("trial-20-2", PrimeArray.of(2, 3, 5, 7, 11, 13, 17, 19));
+        before.getCache("primeCounts").put(10, 4);
+        CacheSnapshotService first = service(before);
+        first.load(); // no snapshot yet
+        assertEquals(3, first.save());
+
+        CacheManager after = freshCaches();
+        assertEquals(3, service(after).load());
+
+        assertEquals(List.of("sieve-10-1", "trial-20-2"),
+                ((BoundedCache) after.getCache("primes")).entries().stream().map(e -> e.getKey()).toList());
+        assertEquals(PrimeArray.of(2, 3, 5, 7), after.getCache("primes").get("sieve-10-1").get());
+        assertEquals(11, ((PrimeArray) after.getCache("basePrimes").get(31).get()).size());
+        assertNull(after.getCache("primeCounts").get(10), "only prime caches are snapshotted");
+    }
+
+    @Test
+    void restoreKeepsEntriesComputedMeanwhile() throws IOException {
+        CacheManager before = freshCaches();
+        before.getCache("primes").put("sieve-10-1", PrimeArray.of(2, 3, 5, 7));
+        CacheSnapshotService first = service(before);
+        first.load();
+        first.save();
+
+        CacheManager after = freshCaches();
+        PrimeArray live = PrimeArray.of(2, 3, 5, 7);
+        after.getCache("primes").put("sieve-10-1", live);
+
+        assertEquals(0, service(after).load());
+        assertSame(live, after.getCache("primes").get("sieve-10-1").get());
+    }
+
+    @Test
+    void skipsWriteWhenNothingChangedAndNeverWritesBeforeLoading() throws IOException {
+        CacheManager caches = freshCaches();
+        CacheSnapshotService snapshots = service(caches);
+        caches.getCache("primes").put("sieve-10-1", PrimeArray.of(2, 3, 5, 7));
+
+        assertEquals(-1, snapshots.save(), "must not overwrite the snapshot before it has been loaded");
+        snapshots.load();
+        assertEquals(1, snapshots.save());
+        assertEquals(-1, snapshots.save());
+
+        caches.getCache("primes").put("sieve-20-1", PrimeArray.of(2, 3, 5, 7, 11, 13, 17, 19));
+        assertEquals(2, snapshots.save());
+    }
+
+    @Test
+    void ignoresCorruptSnapshot() throws IOException {
+        Files.writeString(tempDir.resolve("caches.snapshot"), "garbage");
+        CacheManager caches = freshCaches();
+        CacheSnapshotService snapshots = service(caches);
+
+        assertEquals(0, snapshots.load());
+        assertTrue(snapshots.isLoaded());
+        assertTrue(((BoundedCache) caches.getCache("primes")).entries().isEmpty());
+    }
+
+    @Test
+    void startLoadsInTheBackground() throws Exception {
+        CacheManager before = freshCaches();
+        before.getCache("primes").put("sieve-10-1", PrimeArray.of(2, 3, 5, 7));
+        CacheSnapshotService first = service(before);
+        first.load();
+        first.save();
+
+        CacheManager after = freshCaches();
+        CacheSnapshotService snapshots = service(after);
+        snapshots.start();
+        for (int i = 0; i < 100 && !snapshots.isLoaded(); i++) Thread.sleep(20);
+
+        assertTrue(snapshots.isLoaded());
+        assertNotNull(after.getCache("primes").get("sieve-10-1"));
+        snapshots.shutdown();
+    }
+
+    @Test
+    void disabledWithoutPath() throws IOException {
+        CacheSnapshotService snapshots = new CacheSnapshotService(freshCaches(), "", 600);
+        snapshots.start();
+
+        assertFalse(snapshots.isEnabled());
+        assertEquals(0, snapshots.load());
+        assertEquals(-1, snapshots.save());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.primeapi.service;
+
+import org.example.primeapi.algo.Algorithms.MillerRabin64Util;
+import org.example.primeapi.algo.BasePrimeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks batched primality against the base-prime sieve below the bitmap limit and against Miller–Rabin
+ * around and above it.
+ */
+@SpringBootTest
+public class PrimalityServiceTest {
+
+    @Autowired
+    private PrimalityService primalityService;
+
+    @Autowired
+    private BasePrimeService basePrimeService;
+
+    @Value("${PRIMALITY_BITMAP_LIMIT}")
+    private int bitmapLimit;
+
+    @Test
+    void batchMatchesSieveBelowBitmapLimit() {
+        int limit = 300_000; // several compute-pool chunks
+        long[] numbers = LongStream.range(-10, limit).toArray();
+
+        boolean[] expected = new boolean[numbers.length];
+        for (int prime : basePrimeService.generateSieveBasePrimes(limit).toIntArray()) {
+            if (prime < limit) expected[prime + 10] = true;
+        }
+
+        assertArrayEquals(expected, primalityService.testAll(numbers));
+    }
+
+    @Test
+    void bitmapAndMillerRabinAgreeAcrossTheBitmapLimit() {
+        long[] numbers = LongStream.rangeClosed(bitmapLimit - 20_000L, bitmapLimit + 20_000L).toArray();
+        boolean[] results = primalityService.testAll(numbers);
+
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(MillerRabin64Util.isPrime(numbers[i]), results[i], "mismatch at " + numbers[i]);
+        }
+    }
+
+    @Test
+    void unorderedBatchOfLargeNumbersKeepsRequestOrder() {
+        long[] numbers = {
+                Long.MAX_VALUE, (1L << 61) - 1, 4_294_967_297L, 2, 1_000_000_007, 0, 3_215_031_751L,
+                999_999_999_989L, -7, 9_223_372_036_854_775_783L
+        };
+        boolean[] expected = {false, true, false, true, true, false, false, true, false, true};
+
+        assertArrayEquals(expected, primalityService.testAll(numbers));
+    }
+
+    @Test
+    void emptyBatchReturnsEmptyResult() {
+        assertEquals(0, primalityService.testAll(new long[0]).length);
+    }
+}
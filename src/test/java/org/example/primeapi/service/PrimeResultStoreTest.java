@@ -0,0 +1,64 @@
+package org.example.primeapi.service;
+
+import org.example.primeapi.model.PrimeArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeResultStoreTest {
+
+    private static final PrimeArray PRIMES_TO_50 = PrimeArray.of(2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47);
+
+    @Test
+    void answersSmallerLimitFromLargerResult() {
+        PrimeResultStore store = new PrimeResultStore(1 << 20);
+        store.store(50, PRIMES_TO_50);
+
+        PrimeArray primes = store.lookup(20).orElseThrow();
+
+        assertEquals(List.of(2, 3, 5, 7, 11, 13, 17, 19), primes);
+        assertSame(PRIMES_TO_50.backingArray(), primes.backingArray(), "Lookup should return a zero-copy view");
+    }
+
+    @Test
+    void missesWhenNoStoredLimitCovers() {
+        PrimeResultStore store = new PrimeResultStore(1 << 20);
+        store.store(50, PRIMES_TO_50);
+
+        assertTrue(store.lookup(51).isEmpty());
+        assertEquals(1, store.stats().getMisses());
+    }
+
+    @Test
+    void largerResultSubsumesSmallerOnes() {
+        PrimeResultStore store = new PrimeResultStore(1 << 20);
+        store.store(10, PrimeArray.of(2, 3, 5, 7));
+        store.store(20, PRIMES_TO_50.upTo(20));
+        store.store(50, PRIMES_TO_50);
+        store.store(30, PRIMES_TO_50.upTo(30)); // already covered, ignored
+
+        assertEquals(1, store.stats().getEntries());
+        assertEquals(2, store.stats().getEvictions());
+        assertEquals(PRIMES_TO_50, store.lookup(50).orElseThrow());
+    }
+
+    @Test
+    void skipsResultsOverBudget() {
+        PrimeResultStore store = new PrimeResultStore(16);
+        store.store(50, PRIMES_TO_50);
+
+        assertTrue(store.lookup(10).isEmpty());
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        PrimeResultStore store = new PrimeResultStore(1 << 20);
+        store.store(50, PRIMES_TO_50);
+        store.clear();
+
+        assertTrue(store.lookup(10).isEmpty());
+        assertEquals(0, store.stats().getEstimatedBytes());
+    }
+}
@@ -1,12 +1,15 @@
 package org.example.primeapi.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.util.BoundedCache;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -26,6 +29,12 @@ public class PrimeServiceTest {
     @Autowired
     private PrimeService primeService;
 
+    @Autowired
+    private PrimeResultStore resultStore;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     record TestCase(int limit, int threads, AssertionType type, List<Integer> expected) {}
     record SkipCase(String label, int limit, int threads, boolean shouldSkipExpected) {}
 
@@ -38,7 +47,7 @@ public class PrimeServiceTest {
 
 
     static List<String> algorithms() {
-        return List.of("Trial", "Sieve", "Atkin", "Miller");
+        return List.of("Trial", "Sieve", "Atkin", "Miller", "BitSieve", "Wheel30");
     }
 
     @ParameterizedTest
@@ -111,4 +120,31 @@ public class PrimeServiceTest {
         );
     }
 
+    @Test
+    void uncachedRequestsAreNotStored() {
+        primeService.clearPrimeCache();
+
+        primeService.findPrimes("Sieve", 76_543, 2, false);
+        assertTrue(resultStore.lookup(76_543).isEmpty(), "useCache=false must not populate the result store");
+
+        primeService.findPrimes("Sieve", 76_543, 2, true);
+        assertTrue(resultStore.lookup(76_543).isPresent());
+    }
+
+    @Test
+    void smallHitsOnALargeStoredResultDoNotFillThePrimesCache() {
+        primeService.clearPrimeCache();
+        BoundedCache primes = (BoundedCache) cacheManager.getCache("primes");
+
+        primeService.findPrimes("Sieve", 10_000_000, 1, true); // 664,579 primes, about 2.6 MB
+        long afterLarge = primes.stats().getEstimatedBytes();
+
+        for (int limit = 1_000; limit < 21_000; limit += 1_000) {
+            assertEquals(primeService.findPrimes("Sieve", limit, 1, false), primeService.findPrimes("Sieve", limit, 1, true));
+        }
+
+        long smallEntries = primes.stats().getEstimatedBytes() - afterLarge;
+        assertTrue(smallEntries < 500_000, "20 small prefixes should cost their own size, not the stored array's: " + smallEntries);
+        assertTrue(primes.contains("Sieve-10000000-1"));
+    }
 }
@@ -0,0 +1,67 @@
+package org.example.primeapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = org.example.primeapi.PrimeApiApplication.class)
+class PrimeStreamerTest {
+
+    @Autowired
+    private PrimeStreamer primeStreamer;
+
+    @Autowired
+    private ComputeGate computeGate;
+
+    @Test
+    void heavyStreamsHoldAGatePermitWhileWriting() throws IOException {
+        GateRecordingStream out = new GateRecordingStream();
+        primeStreamer.writeNdjson("bitsieve", null, 6_000_000, 2, false, false, out);
+
+        assertTrue(out.runningAtEachLine.size() > 2, out.toString());
+        assertTrue(out.runningAtEachLine.subList(0, out.runningAtEachLine.size() - 1).stream().allMatch(r -> r >= 1),
+                "every segment line should be written while holding a heavy permit: " + out.runningAtEachLine);
+        assertTrue(out.toString().contains("\"total\":412849"), "pi(6,000,000)");
+        assertEquals(0, computeGate.stats().getRunning());
+    }
+
+    @Test
+    void cheapStreamsBypassTheGate() throws IOException {
+        GateRecordingStream out = new GateRecordingStream();
+        primeStreamer.writeNdjson("bitsieve", null, 2_000_000, 4, false, false, out);
+
+        assertTrue(out.runningAtEachLine.stream().allMatch(r -> r == 0), out.runningAtEachLine.toString());
+        assertTrue(out.toString().contains("\"total\":148933"), "pi(2,000,000)");
+    }
+
+    /** Notes how many heavy requests the gate is running each time a line is completed. */
+    private final class GateRecordingStream extends OutputStream {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final List<Integer> runningAtEachLine = new ArrayList<>();
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+            if (b == '\n') runningAtEachLine.add(computeGate.stats().getRunning());
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) write(b[i]);
+        }
+
+        @Override
+        public String toString() {
+            return bytes.toString();
+        }
+    }
+}
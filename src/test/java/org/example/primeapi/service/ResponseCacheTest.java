@@ -0,0 +1,31 @@
+package org.example.primeapi.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseCacheTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "gzip                      | true",
+            "deflate, GZIP             | true",
+            "gzip;q=0.5, br            | true",
+            "*                         | true",
+            "x-gzip                    | true",
+            "gzip;q=0                  | false",
+            "gzip; q=0.0, deflate      | false",
+            "*, gzip;q=0               | false",
+            "*;q=0                     | false",
+            "gzip;q=abc                | false",
+            "deflate, br               | false",
+            "''                        | false"
+    })
+    void acceptsGzipFollowsQValues(String acceptEncoding, boolean expected) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        assertEquals(expected, ResponseCache.acceptsGzip(request), acceptEncoding);
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.primeapi.service;
+
+import org.example.primeapi.util.BoundedCache;
+import org.example.primeapi.util.ThreadPoolManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = org.example.primeapi.PrimeApiApplication.class)
+class WarmUpServiceTest {
+
+    @Autowired
+    private PrimeService primeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ComputeGate computeGate;
+
+    @Autowired
+    private CacheSnapshotService snapshots;
+
+    @TempDir
+    Path tempDir;
+
+    private BoundedCache primesCache;
+
+    @BeforeEach
+    void clearCaches() {
+        primeService.clearPrimeCache();
+        primesCache = (BoundedCache) cacheManager.getCache("primes");
+    }
+
+    private WarmUpService warmUp(int topN, double maxLatencyMs) {
+        return new WarmUpService(primeService, cacheManager, computeGate, snapshots,
+                tempDir.resolve("warmup-profile.txt").toString(), topN, maxLatencyMs, 0, 24);
+    }
+
+    @Test
+    void ranksQueriesByFrequency() {
+        WarmUpService service = warmUp(2, 250);
+        for (int i = 0; i < 3; i++) service.recordQuery("sieve", 10_007, 1);
+        for (int i = 0; i < 5; i++) service.recordQuery("ATKIN", 20_011, 2);
+        service.recordQuery("trial", 30_011, 1);
+
+        assertEquals(List.of(new WarmUpService.WarmQuery("atkin", 20_011, 2), new WarmUpService.WarmQuery("sieve", 10_007, 1)),
+                service.topQueries(2));
+    }
+
+    @Test
+    void profileSurvivesRestartAndSkipsInvalidLines() throws IOException {
+        WarmUpService before = warmUp(5, 250);
+        for (int i = 0; i < 4; i++) before.recordQuery("sieve", 10_007, 1);
+        before.recordQuery("wheel30", 20_011, 2);
+        before.saveProfile();
+        Files.writeString(tempDir.resolve("warmup-profile.txt"),
+                "bogus 10 1 3.0\nsieve notanumber 1 2.0\nsieve 200000000 1 9.0\n", StandardOpenOption.APPEND);
+
+        WarmUpService after = warmUp(5, 250);
+        after.loadProfile();
+
+        assertEquals(List.of(new WarmUpService.WarmQuery("sieve", 10_007, 1), new WarmUpService.WarmQuery("wheel30", 20_011, 2)),
+                after.topQueries(5));
+    }
+
+    @Test
+    void precomputesTopQueriesAndCountsWarmHits() {
+        WarmUpService service = warmUp(2, 250);
+        service.recordQuery("sieve", 10_009, 1);
+        service.recordQuery("sieve", 10_009, 1);
+        service.recordQuery("wheel30", 20_021, 2);
+        service.recordQuery("wheel30", 20_021, 2);
+        service.recordQuery("trial", 30_013, 1); // below the top 2
+        primeService.findPrimes("wheel30", 20_021, 2, true); // live traffic got there first
+
+        service.warmUp();
+
+        assertTrue(primesCache.contains("sieve-10009-1"));
+        assertFalse(primesCache.contains("trial-30013-1"));
+        assertEquals("DONE", service.stats().getState());
+        assertEquals(2, service.stats().getPlanned());
+        assertEquals(1, service.stats().getWarmed());
+        assertEquals(1, service.stats().getAlreadyCached());
+
+        // Only answers findPrimes actually served from a warmed entry count
+        service.recordServed("sieve", 10_009, 1, primeService.findPrimes("sieve", 10_009, 1, true));
+        service.recordServed("wheel30", 20_021, 2, primeService.findPrimes("wheel30", 20_021, 2, true)); // not warmed
+        assertEquals(1, service.stats().getWarmHits());
+
+        primeService.clearPrimeCache();
+        service.recordServed("sieve", 10_009, 1, primeService.findPrimes("sieve", 10_009, 1, true)); // recomputed
+        assertEquals(1, service.stats().getWarmHits());
+    }
+
+    @Test
+    void backsOffWhileLiveRequestsAreSlow() {
+        WarmUpService service = warmUp(1, 250);
+        service.recordLatency(5);
+        assertFalse(service.shouldBackOff());
+
+        for (int i = 0; i < 20; i++) service.recordLatency(2_000);
+        assertTrue(service.shouldBackOff());
+        assertTrue(service.stats().getLiveLatencyMs() > 250);
+
+        for (int i = 0; i < 40; i++) service.recordLatency(1);
+        assertFalse(service.shouldBackOff());
+    }
+
+    @Test
+    void warmsOnOneThreadUnderTheLiveQueryKey() {
+        WarmUpService service = warmUp(1, 250);
+        service.recordQuery("bitsieve", 6_000_011, 4);
+        long chunksBefore = ThreadPoolManager.computePoolStats().getCompletedTasks();
+
+        service.warmUp();
+
+        assertTrue(primesCache.contains("bitsieve-6000011-4"));
+        assertFalse(primesCache.contains("bitsieve-6000011-1"));
+        assertEquals(chunksBefore, ThreadPoolManager.computePoolStats().getCompletedTasks(),
+                "warm-up should not submit chunks to the compute pool");
+        assertEquals(412_850, primeService.findPrimes("bitsieve", 6_000_011, 4, true).size());
+    }
+
+    @Test
+    void backsOffWhileComputePoolIsBusy() throws Exception {
+        WarmUpService service = warmUp(1, 250);
+        assertFalse(service.shouldBackOff());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> busy = ThreadPoolManager.computePool().submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        started.await();
+        try {
+            assertTrue(service.shouldBackOff(), "an active compute task should hold the warm-up back");
+        } finally {
+            release.countDown();
+        }
+        busy.get();
+    }
+
+    @Test
+    void backsOffWhileTheGateHasNoFreePermit() throws Exception {
+        ComputeGate singlePermit = new ComputeGate(1, 1);
+        WarmUpService service = new WarmUpService(primeService, cacheManager, singlePermit, snapshots,
+                tempDir.resolve("warmup-profile.txt").toString(), 1, 250, 0, 24);
+        assertFalse(service.shouldBackOff());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread heavy = new Thread(() -> singlePermit.run(10, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        heavy.start();
+        started.await();
+        try {
+            assertTrue(service.shouldBackOff(), "a gate with every permit taken should hold the warm-up back");
+        } finally {
+            release.countDown();
+            heavy.join();
+        }
+        assertFalse(service.shouldBackOff());
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.primeapi.util;
+
+import org.example.primeapi.model.CacheStats;
+import org.example.primeapi.model.CachedResponse;
+import org.example.primeapi.model.PrimeArray;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    /** Budgeted bytes for one cached PrimeArray of the given size. */
+    private static long entryBytes(int primes) {
+        return BoundedCache.ENTRY_OVERHEAD_BYTES + BoundedCache.estimateBytes(PrimeArray.wrap(new int[primes]));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverBudget() {
+        BoundedCache cache = new BoundedCache("primes", 2 * entryBytes(1_000));
+        cache.put("a", PrimeArray.wrap(new int[1_000]));
+        cache.put("b", PrimeArray.wrap(new int[1_000]));
+        assertNotNull(cache.get("a")); // touch a so b becomes eldest
+
+        cache.put("c", PrimeArray.wrap(new int[1_000]));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    void evictsByBytesNotEntryCount() {
+        BoundedCache cache = new BoundedCache("primes", entryBytes(10_000) + 5 * entryBytes(10));
+        for (int i = 0; i < 5; i++) cache.put("small-" + i, PrimeArray.wrap(new int[10]));
+        cache.put("large", PrimeArray.wrap(new int[10_000]));
+
+        CacheStats stats = cache.stats();
+        assertEquals(6, stats.getEntries());
+        assertTrue(stats.getEstimatedBytes() <= stats.getMaxBytes());
+
+        cache.put("large-2", PrimeArray.wrap(new int[5_000]));
+        assertNull(cache.get("small-0"), "Oldest small entries should be evicted first");
+        assertNull(cache.get("large"), "Evictions continue until the new entry fits");
+        assertNotNull(cache.get("large-2"));
+    }
+
+    @Test
+    void rejectsSingleValueLargerThanBudget() {
+        BoundedCache cache = new BoundedCache("primes", entryBytes(100));
+        cache.put("kept", PrimeArray.wrap(new int[10]));
+        cache.put("huge", PrimeArray.wrap(new int[1_000]));
+
+        assertNull(cache.get("huge"));
+        assertNotNull(cache.get("kept"), "Oversized values must not flush existing entries");
+        assertEquals(0, cache.stats().getEvictions());
+    }
+
+    @Test
+    void replacingKeyReleasesOldBytes() {
+        BoundedCache cache = new BoundedCache("primes", 1 << 20);
+        cache.put("key", PrimeArray.wrap(new int[1_000]));
+        cache.put("key", PrimeArray.wrap(new int[10]));
+
+        assertEquals(entryBytes(10), cache.stats().getEstimatedBytes());
+        assertEquals(1, cache.stats().getEntries());
+    }
+
+    @Test
+    void tracksHitsAndMisses() {
+        BoundedCache cache = new BoundedCache("docs", 1 << 20);
+        cache.put("readme", "<h1>Prime API</h1>");
+
+        assertEquals("<h1>Prime API</h1>", cache.get("readme", String.class));
+        assertNull(cache.get("missing"));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void loaderPopulatesCacheOnce() {
+        BoundedCache cache = new BoundedCache("basePrimes", 1 << 20);
+        PrimeArray loaded = cache.get(10, () -> PrimeArray.of(2, 3, 5, 7));
+        PrimeArray cached = cache.get(10, () -> fail("Loader should not run on a hit"));
+
+        assertEquals(loaded, cached);
+    }
+
+    @Test
+    void concurrentLoadersForOneKeyRunOnce() throws Exception {
+        BoundedCache cache = new BoundedCache("primes", 1 << 20);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<PrimeArray>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return cache.get("key", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(100); // long enough for every caller to arrive while loading
+                        return PrimeArray.wrap(new int[10]);
+                    });
+                }));
+            }
+            start.countDown();
+
+            PrimeArray first = results.get(0).get();
+            for (Future<PrimeArray> result : results) assertSame(first, result.get());
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(entryBytes(10), cache.stats().getEstimatedBytes());
+    }
+
+    @Test
+    void loaderFailureIsWrapped() {
+        BoundedCache cache = new BoundedCache("primes", 1 << 20);
+        assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get("key", () -> { throw new IllegalStateException("boom"); }));
+    }
+
+    @Test
+    void clearAndEvictResetSize() {
+        BoundedCache cache = new BoundedCache("primes", 1 << 20);
+        cache.put("a", PrimeArray.of(2));
+        cache.put("b", null);
+        assertNotNull(cache.get("b"), "Null values are cached as a wrapper");
+
+        cache.evict("a");
+        assertNull(cache.get("a"));
+        cache.clear();
+        assertEquals(0, cache.stats().getEntries());
+        assertEquals(0, cache.stats().getEstimatedBytes());
+    }
+
+    @Test
+    void sizesCachedResponsesByBodyLength() {
+        CachedResponse small = new CachedResponse(new HttpHeaders(), new byte[100], false);
+        CachedResponse large = new CachedResponse(new HttpHeaders(), new byte[100_000], true);
+        assertEquals(99_900, BoundedCache.estimateBytes(large) - BoundedCache.estimateBytes(small));
+    }
+
+    @Test
+    void rejectsNonPositiveBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache("primes", 0));
+    }
+
+    @Test
+    void entriesListLeastRecentlyUsedFirstWithoutCountingAccess() {
+        BoundedCache cache = new BoundedCache("primes", 1 << 20);
+        cache.put("a", PrimeArray.of(2));
+        cache.put("b", PrimeArray.of(3));
+        cache.get("a");
+
+        assertEquals(List.of("b", "a"), cache.entries().stream().map(Map.Entry::getKey).toList());
+        assertEquals(1, cache.stats().getHits());
+    }
+
+    @Test
+    void putIfAbsentKeepsExistingValueAndCountsModifications() {
+        BoundedCache cache = new BoundedCache("primes", 1 << 20);
+        cache.put("a", PrimeArray.of(2));
+        long before = cache.modifications();
+
+        assertEquals(PrimeArray.of(2), cache.putIfAbsent("a", PrimeArray.of(3)).get());
+        assertNull(cache.putIfAbsent("b", PrimeArray.of(5)));
+
+        assertEquals(PrimeArray.of(5), cache.get("b").get());
+        assertEquals(before + 1, cache.modifications());
+        assertEquals(0, cache.stats().getMisses());
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.primeapi.util;
+
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
+import org.example.primeapi.model.PrimeArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotFileTest {
+
+    private static final int[] PRIMES_TO_31 = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31};
+
+    @TempDir
+    Path tempDir;
+
+    private static Map<String, List<Map.Entry<Object, PrimeArray>>> sampleCaches() {
+        int[] basePrimes = BitSieveUtil.sieveRange(2, 1_000, PRIMES_TO_31).toIntArray();
+        Map<String, List<Map.Entry<Object, PrimeArray>>> caches = new LinkedHashMap<>();
+        caches.put("basePrimes", List.of(Map.entry(1_000, PrimeArray.wrap(basePrimes))));
+        caches.put("primes", List.of(
+                Map.entry("sieve-100000-4", BitSieveUtil.sieveRange(2, 100_000, basePrimes)),
+                Map.entry("trial-10-1", PrimeArray.of(2, 3, 5, 7)),
+                Map.entry("atkin-1-1", PrimeArray.empty())));
+        return caches;
+    }
+
+    @Test
+    void roundTripsKeysValuesAndOrder() throws IOException {
+        Path file = tempDir.resolve("caches.snapshot");
+        Map<String, List<Map.Entry<Object, PrimeArray>>> caches = sampleCaches();
+
+        assertEquals(4, CacheSnapshotFile.write(file, caches));
+
+        assertEquals(caches, CacheSnapshotFile.read(file));
+        // About one byte per prime, against four in memory
+        assertTrue(Files.size(file) < 11_000, "snapshot was " + Files.size(file) + " bytes");
+    }
+
+    @Test
+    void skipsEntriesWithUnsupportedKeys() throws IOException {
+        Path file = tempDir.resolve("caches.snapshot");
+        CacheSnapshotFile.write(file, Map.of("primes", List.of(
+                Map.entry(List.of("composite", "key"), PrimeArray.of(2)),
+                Map.entry("kept", PrimeArray.of(3)))));
+
+        assertEquals(Map.of("primes", List.of(Map.entry("kept", PrimeArray.of(3)))), CacheSnapshotFile.read(file));
+    }
+
+    @Test
+    void rejectsFlippedBitByChecksum() throws IOException {
+        Path file = tempDir.resolve("caches.snapshot");
+        CacheSnapshotFile.write(file, sampleCaches());
+        byte[] bytes = Files.readAllBytes(file);
+        // Deep inside the delta-coded primes, where the decoder alone cannot tell
+        bytes[bytes.length / 2] ^= 0x02;
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> CacheSnapshotFile.read(file));
+        assertTrue(e.getMessage().startsWith("Corrupt") || e.getMessage().startsWith("Malformed"), e.getMessage());
+    }
+
+    @Test
+    void rejectsTruncatedAndForeignFiles() throws IOException {
+        Path file = tempDir.resolve("caches.snapshot");
+        CacheSnapshotFile.write(file, sampleCaches());
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertEquals("Truncated cache snapshot", assertThrows(IOException.class, () -> CacheSnapshotFile.read(file)).getMessage());
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length + 1));
+        assertThrows(IOException.class, () -> CacheSnapshotFile.read(file));
+
+        Files.writeString(file, "not a snapshot at all");
+        assertEquals("Not a cache snapshot", assertThrows(IOException.class, () -> CacheSnapshotFile.read(file)).getMessage());
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.primeapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void queryTagsAreStableWeakAndDistinct() {
+        String tag = ETags.ofQuery("sieve", 1_000, 4, "application/json");
+
+        assertEquals(tag, ETags.ofQuery("sieve", 1_000, 4, "application/json"));
+        assertTrue(tag.matches("W/\"q-[0-9a-f]{32}\""), tag);
+        assertNotEquals(tag, ETags.ofQuery("sieve", 1_000, 4, "application/xml"));
+        // Part boundaries matter: ("ab", "c") must not collide with ("a", "bc")
+        assertNotEquals(ETags.ofQuery("ab", "c"), ETags.ofQuery("a", "bc"));
+    }
+
+    @Test
+    void contentTagsFollowTheContent() {
+        assertEquals(ETags.ofContent("<h1>Docs</h1>"), ETags.ofContent("<h1>Docs</h1>"));
+        assertNotEquals(ETags.ofContent("<h1>Docs</h1>"), ETags.ofContent("<h1>Docs!</h1>"));
+        assertTrue(ETags.ofContent("x").matches("\"c-[0-9a-f]{32}\""));
+        assertNotEquals(ETags.ofContent("x"), ETags.ofQuery("x"));
+    }
+}
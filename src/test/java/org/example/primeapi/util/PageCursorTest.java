@@ -0,0 +1,44 @@
+package org.example.primeapi.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 1_000_000, 999_999_938, Integer.MAX_VALUE})
+    void roundTrips(int nextStart) {
+        assertEquals(nextStart, PageCursor.decode(PageCursor.encode(nextStart, null, Integer.MAX_VALUE), null, Integer.MAX_VALUE));
+        assertEquals(nextStart, PageCursor.decode(PageCursor.encode(nextStart, 1_000, Integer.MAX_VALUE), 1_000, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        assertTrue(PageCursor.encode(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE).matches("[A-Za-z0-9_-]+"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not base64!", "MTIz", "cDphYmM", "cDox", "cDoxMjM", "cDoxOjoxMDA"})
+    void rejectsForeignCursors(String cursor) {
+        // "MTIz" is "123" without prefix, "cDphYmM" is "p:abc", "cDox" is "p:1", "cDoxMjM" is "p:123" with no query,
+        // "cDoxOjoxMDA" is "p:1::100"
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> PageCursor.decode(cursor, null, 100));
+        assertTrue(exception.getMessage().startsWith("Invalid cursor"));
+    }
+
+    @Test
+    void rejectsCursorFromAnotherQuery() {
+        String cursor = PageCursor.encode(500, 100, 10_000);
+
+        assertEquals(500, PageCursor.decode(cursor, 100, 10_000));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor, null, 10_000));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor, 200, 10_000));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> PageCursor.decode(cursor, 100, 20_000));
+        assertTrue(exception.getMessage().contains("different query"));
+    }
+}
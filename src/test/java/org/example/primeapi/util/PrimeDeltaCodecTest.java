@@ -0,0 +1,117 @@
+package org.example.primeapi.util;
+
+import org.example.primeapi.algo.Algorithms.BitSieveUtil;
+import org.example.primeapi.model.LongPrimeArray;
+import org.example.primeapi.model.PrimeArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeDeltaCodecTest {
+
+    private static final int[] PRIMES_TO_31 = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31};
+
+    private static byte[] encode(PrimeArray primes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrimeDeltaCodec.encode(primes, out);
+        return out.toByteArray();
+    }
+
+    private static PrimeArray primesUpTo(int limit) {
+        int[] basePrimes = BitSieveUtil.sieveRange(2, 1_000, PRIMES_TO_31).toIntArray();
+        return BitSieveUtil.sieveRange(2, limit, basePrimes);
+    }
+
+    @Test
+    void roundTripsSmallLists() throws IOException {
+        for (PrimeArray primes : new PrimeArray[]{
+                PrimeArray.empty(), PrimeArray.of(2), PrimeArray.of(2, 3), PrimeArray.of(3, 5, 7), PrimeArray.of(PRIMES_TO_31)}) {
+            assertEquals(primes, PrimeDeltaCodec.decode(encode(primes)));
+        }
+    }
+
+    @Test
+    void roundTripsAMillionAtAboutOneBytePerPrime() throws IOException {
+        PrimeArray primes = primesUpTo(1_000_000);
+        byte[] encoded = encode(primes);
+
+        assertEquals(primes, PrimeDeltaCodec.decode(encoded));
+        assertEquals(primes, PrimeDeltaCodec.decode(new ByteArrayInputStream(encoded)));
+        // count (3 bytes) + first prime (1 byte) + one byte per halved gap, as every gap below 1e6 is < 256
+        assertEquals(3 + primes.size(), encoded.length);
+    }
+
+    @Test
+    void roundTripsPrimesNearIntegerMax() throws IOException {
+        PrimeArray primes = PrimeArray.of(2_147_483_587, 2_147_483_629, 2_147_483_647);
+        assertEquals(primes, PrimeDeltaCodec.decode(encode(primes)));
+    }
+
+    @Test
+    void roundTripsPrimesBeyondIntegerMax() throws IOException {
+        LongPrimeArray primes = LongPrimeArray.of(4_294_967_291L, 4_294_967_311L, 4_294_967_357L, 999_999_999_989L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrimeDeltaCodec.encode(primes, out);
+
+        assertEquals(primes, PrimeDeltaCodec.decodeLong(out.toByteArray()));
+        assertThrows(IOException.class, () -> PrimeDeltaCodec.decode(out.toByteArray()));
+    }
+
+    @Test
+    void longEncoderWritesTheSameBytesBelowIntegerMax() throws IOException {
+        PrimeArray primes = primesUpTo(100_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrimeDeltaCodec.encode(LongPrimeArray.wrap(primes.intStream().asLongStream().toArray()), out);
+
+        assertArrayEquals(encode(primes), out.toByteArray());
+        assertEquals(primes.size(), PrimeDeltaCodec.decodeLong(out.toByteArray()).size());
+    }
+
+    @Test
+    void encodesOnlyTheViewOfASlice() throws IOException {
+        PrimeArray primes = primesUpTo(10_000);
+        PrimeArray slice = primes.slice(100, 200);
+        assertEquals(slice, PrimeDeltaCodec.decode(encode(slice)));
+    }
+
+    @Test
+    void rejectsUnorderedInput() {
+        assertThrows(IllegalArgumentException.class, () -> encode(PrimeArray.of(5, 3)));
+        assertThrows(IllegalArgumentException.class, () -> encode(PrimeArray.of(3, 3)));
+    }
+
+    @Test
+    void rejectsTruncatedOrCorruptData() throws IOException {
+        byte[] encoded = encode(PrimeArray.of(PRIMES_TO_31));
+
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+        assertThrows(IOException.class, () -> PrimeDeltaCodec.decode(truncated));
+        assertThrows(EOFException.class, () -> PrimeDeltaCodec.decode(new byte[]{2, 2, (byte) 0x81}));
+
+        byte[] trailing = Arrays.copyOf(encoded, encoded.length + 1);
+        assertThrows(IOException.class, () -> PrimeDeltaCodec.decode(trailing));
+
+        byte[] zeroGap = {2, 3, 0};
+        assertThrows(IOException.class, () -> PrimeDeltaCodec.decode(zeroGap));
+
+        byte[] hugeCount = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 2};
+        assertThrows(IOException.class, () -> PrimeDeltaCodec.decode(hugeCount));
+    }
+
+    @Test
+    void rejectsVarintsWiderThanThirtyTwoBits() {
+        // 2^32 + 3 would wrap to 3 if the fifth byte's high bits were dropped
+        byte[] wrapsToThree = {1, (byte) 0x83, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x10};
+        assertThrows(IOException.class, () -> PrimeDeltaCodec.decode(wrapsToThree));
+
+        // 2^31 fits in 32 bits but reads back as a negative int
+        byte[] negativeFirstPrime = {1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08};
+        assertThrows(IOException.class, () -> PrimeDeltaCodec.decode(negativeFirstPrime));
+    }
+}
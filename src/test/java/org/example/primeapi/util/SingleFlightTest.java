@@ -0,0 +1,105 @@
+package org.example.primeapi.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.primeapi.model.CoalescingStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        List<Future<Integer>> results = new ArrayList<>();
+        results.add(pool.submit(() -> singleFlight.execute("key", () -> {
+            runs.incrementAndGet();
+            leaderStarted.countDown();
+            awaitQuietly(release);
+            return 42;
+        })));
+        assertTrue(leaderStarted.await(2, TimeUnit.SECONDS));
+
+        for (int i = 1; i < callers; i++) {
+            results.add(pool.submit(() -> singleFlight.execute("key", runs::incrementAndGet)));
+        }
+        while (singleFlight.stats().getCoalesced() < callers - 1) Thread.onSpinWait();
+        release.countDown();
+
+        for (Future<Integer> result : results) assertEquals(42, result.get(2, TimeUnit.SECONDS));
+        pool.shutdownNow();
+
+        CoalescingStats stats = singleFlight.stats();
+        log.info("Single-flight stats: {}", stats);
+        assertEquals(1, runs.get());
+        assertEquals(1, stats.getComputations());
+        assertEquals(callers - 1, stats.getCoalesced());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    void sequentialCallsComputeAgain() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        singleFlight.execute("key", runs::incrementAndGet);
+        singleFlight.execute("key", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+        assertEquals(0, singleFlight.stats().getCoalesced());
+    }
+
+    @Test
+    void distinctKeysDoNotCoalesce() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        assertEquals("a", singleFlight.execute("a", () -> "a"));
+        assertEquals("b", singleFlight.execute("b", () -> "b"));
+        assertEquals(2, singleFlight.stats().getComputations());
+    }
+
+    @Test
+    void leaderFailureIsSharedAndKeyIsReleased() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<Integer> leader = pool.submit(() -> singleFlight.execute("key", () -> {
+            leaderStarted.countDown();
+            awaitQuietly(release);
+            throw new IllegalStateException("boom");
+        }));
+        assertTrue(leaderStarted.await(2, TimeUnit.SECONDS));
+        Future<Integer> follower = pool.submit(() -> singleFlight.execute("key", () -> 1));
+        while (singleFlight.stats().getCoalesced() < 1) Thread.onSpinWait();
+        release.countDown();
+
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(2, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+        assertInstanceOf(IllegalStateException.class, followerError.getCause());
+        pool.shutdownNow();
+
+        assertEquals(7, singleFlight.execute("key", () -> 7), "Key should be free after a failed computation");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
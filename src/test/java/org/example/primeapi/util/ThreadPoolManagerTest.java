@@ -13,91 +13,57 @@ import static org.junit.jupiter.api.Assertions.*;
 class ThreadPoolManagerTest {
 
     @Test
-    void testThreadNamingAndExecution() throws InterruptedException {
-        int threadCount = 4;
-        String label = "prime";
-        ExecutorService pool = ThreadPoolManager.createFixedPool(threadCount, label);
+    void testComputePoolIsSharedAndNamed() throws Exception {
+        ExecutorService first = ThreadPoolManager.computePool();
+        ExecutorService second = ThreadPoolManager.computePool();
+        assertSame(first, second, "Compute pool should be reused across calls");
 
-        CountDownLatch latch = new CountDownLatch(threadCount);
-        ConcurrentLinkedQueue<String> threadNames = new ConcurrentLinkedQueue<>();
-
-        IntStream.range(0, threadCount).forEach(i -> pool.submit(() -> {
-            String name = Thread.currentThread().getName();
-            log.info("Executing task on {}", name);
-            threadNames.add(name);
-            latch.countDown();
-        }));
-
-        assertTrue(latch.await(2, TimeUnit.SECONDS), "Tasks did not complete in time");
-        assertEquals(threadCount, threadNames.size(), "Incorrect number of threads used");
-
-        threadNames.forEach(name -> {
-            assertTrue(name.startsWith(label + "-pool-"), "Thread name does not start with expected label");
-            assertTrue(name.contains("-thread-"), "Thread name does not contain expected suffix");
-        });
-
-        pool.shutdownNow();
+        String name = first.submit(() -> Thread.currentThread().getName()).get(2, TimeUnit.SECONDS);
+        assertTrue(name.startsWith("compute-pool-"), "Compute thread name does not start with expected prefix");
     }
 
     @Test
-    void testZeroThreadsShouldThrowException() {
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                ThreadPoolManager.createFixedPool(0, "zero")
-        );
-        log.warn("Expected exception for zero threads: {}", exception.getMessage());
+    void testComputePoolStatsReportQueueDepth() throws Exception {
+        ExecutorService pool = ThreadPoolManager.computePool();
+        int workers = ThreadPoolManager.computePoolStats().getMaxPoolSize();
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(workers);
+        List<Future<?>> futures = IntStream.range(0, workers + 2)
+                .mapToObj(i -> pool.submit(() -> {
+                    started.countDown();
+                    release.await();
+                    return null;
+                }))
+                .collect(java.util.stream.Collectors.toList());
+
+        assertTrue(started.await(2, TimeUnit.SECONDS), "Workers did not start in time");
+        var stats = ThreadPoolManager.computePoolStats();
+        log.info("Compute pool stats while saturated: {}", stats);
+        assertEquals(workers, stats.getActiveCount());
+        assertEquals(2, stats.getQueueDepth());
+
+        release.countDown();
+        for (Future<?> future : futures) future.get(2, TimeUnit.SECONDS);
     }
 
     @Test
-    void testNegativeThreadsShouldThrowException() {
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                ThreadPoolManager.createFixedPool(-3, "negative")
-        );
-        log.warn("Expected exception for negative threads: {}", exception.getMessage());
+    void testComputePoolRecreatedAfterShutdown() throws Exception {
+        ExecutorService before = ThreadPoolManager.computePool();
+        ThreadPoolManager.shutdownComputePool();
+        assertTrue(before.isShutdown(), "Compute pool should be shut down");
+
+        ExecutorService after = ThreadPoolManager.computePool();
+        assertNotSame(before, after);
+        assertEquals(42, after.submit(() -> 42).get(2, TimeUnit.SECONDS));
     }
 
     @Test
-    void testNullLabelStillCreatesPool() throws InterruptedException {
-        ExecutorService pool = ThreadPoolManager.createFixedPool(2, null);
-        CountDownLatch latch = new CountDownLatch(2);
-        ConcurrentLinkedQueue<String> threadNames = new ConcurrentLinkedQueue<>();
-
-        IntStream.range(0, 2).forEach(i -> pool.submit(() -> {
-            String name = Thread.currentThread().getName();
-            log.info("Thread name with null label: {}", name);
-            threadNames.add(name);
-            latch.countDown();
-        }));
-
-        assertTrue(latch.await(2, TimeUnit.SECONDS));
-        threadNames.forEach(name -> assertTrue(name.contains("pool-") && name.contains("-thread-")));
-
-        pool.shutdownNow();
-    }
+    void testForkJoinPoolIsSharedAndNamed() {
+        ForkJoinPool pool = ThreadPoolManager.forkJoinPool();
+        assertSame(pool, ThreadPoolManager.forkJoinPool(), "Fork/join pool should be reused across calls");
 
-    @Test
-    void testEmptyLabelStillCreatesPool() throws InterruptedException {
-        ExecutorService pool = ThreadPoolManager.createFixedPool(2, "");
-        CountDownLatch latch = new CountDownLatch(2);
-        ConcurrentLinkedQueue<String> threadNames = new ConcurrentLinkedQueue<>();
-
-        IntStream.range(0, 2).forEach(i -> pool.submit(() -> {
-            String name = Thread.currentThread().getName();
-            log.info("Thread name with empty label: {}", name);
-            threadNames.add(name);
-            latch.countDown();
-        }));
-
-        assertTrue(latch.await(2, TimeUnit.SECONDS));
-        threadNames.forEach(name -> assertTrue(name.startsWith("pool-") || name.contains("-thread-")));
-
-        pool.shutdownNow();
-    }
-
-    @Test
-    void testShutdownBehavior() {
-        ExecutorService pool = ThreadPoolManager.createFixedPool(2, "shutdown");
-        pool.shutdown();
-        assertTrue(pool.isShutdown(), "Pool should be shut down");
-        log.info("Pool shutdown confirmed");
+        String name = pool.invoke(ForkJoinTask.adapt(() -> Thread.currentThread().getName()));
+        assertTrue(name.startsWith("fork-join-pool-"), "Fork/join thread name does not start with expected prefix");
     }
-}
\ No newline at end of file
+}